@@ -2,8 +2,10 @@ package nl.dodo_en_kuik.backend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class DodoEnKuikApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,65 @@
+package nl.dodo_en_kuik.backend.config;
+
+// Imports
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import javax.sql.DataSource;
+import java.util.Map;
+
+// Only active when a replica is configured, otherwise Spring Boot creates the single primary pool
+@Configuration
+@ConditionalOnProperty(prefix = "replica.datasource", name = "url")
+public class DataSourceConfiguration {
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties primaryDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("replica.datasource")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource() {
+        return primaryDataSourceProperties().initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("replica.datasource.hikari")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = replicaDataSourceProperties().initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setReadOnly(true);
+
+        return dataSource;
+    }
+
+    // The lazy proxy postpones fetching a connection until the first statement,
+    // by then the transaction's read-only flag is known to the routing data source
+    @Bean
+    @Primary
+    public DataSource dataSource() {
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource();
+
+        routingDataSource.setTargetDataSources(Map.of(
+                ReplicaRoutingDataSource.PRIMARY, primaryDataSource(),
+                ReplicaRoutingDataSource.REPLICA, replicaDataSource()
+        ));
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource());
+        routingDataSource.afterPropertiesSet();
+
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
@@ -0,0 +1,29 @@
+package nl.dodo_en_kuik.backend.config;
+
+// Imports
+import nl.dodo_en_kuik.backend.dtos.output.ChangeFeedDto;
+import nl.dodo_en_kuik.backend.dtos.output.ListChangeDto;
+import nl.dodo_en_kuik.backend.dtos.output.ListItemDto;
+import nl.dodo_en_kuik.backend.dtos.output.UserDto;
+import nl.dodo_en_kuik.backend.enums.ListType;
+import nl.dodo_en_kuik.backend.enums.MediaType;
+import nl.dodo_en_kuik.backend.models.Authority;
+import nl.dodo_en_kuik.backend.security.jwt.JwtRuntimeHints;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+// Several endpoints return ResponseEntity<Object>, so AOT cannot infer which types Jackson serializes
+@Configuration
+@ImportRuntimeHints(JwtRuntimeHints.class)
+@RegisterReflectionForBinding({
+        UserDto.class,
+        ListItemDto.class,
+        ListChangeDto.class,
+        ChangeFeedDto.class,
+        Authority.class,
+        MediaType.class,
+        ListType.class
+})
+public class NativeHintsConfiguration {
+}
@@ -0,0 +1,26 @@
+package nl.dodo_en_kuik.backend.config;
+
+// Imports
+import nl.dodo_en_kuik.backend.services.WarmupService;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+// Part of the readiness group, so load balancers only route traffic here once the warm-up is done
+@Component
+public class WarmupHealthIndicator implements HealthIndicator {
+    private final WarmupService warmupService;
+
+    public WarmupHealthIndicator(WarmupService warmupService) {
+        this.warmupService = warmupService;
+    }
+
+    @Override
+    public Health health() {
+        if (warmupService.isCompleted()) {
+            return Health.up().build();
+        }
+
+        return Health.outOfService().withDetail("reason", "warm-up in progress").build();
+    }
+}
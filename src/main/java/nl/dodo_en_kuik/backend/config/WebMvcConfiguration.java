@@ -0,0 +1,32 @@
+package nl.dodo_en_kuik.backend.config;
+
+// Imports
+import nl.dodo_en_kuik.backend.enums.ListSort;
+import nl.dodo_en_kuik.backend.enums.ListType;
+import nl.dodo_en_kuik.backend.enums.MediaType;
+import nl.dodo_en_kuik.backend.security.interceptor.AuthUserInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebMvcConfiguration implements WebMvcConfigurer {
+    private final AuthUserInterceptor authUserInterceptor;
+
+    public WebMvcConfiguration(AuthUserInterceptor authUserInterceptor) {
+        this.authUserInterceptor = authUserInterceptor;
+    }
+
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        registry.addConverter(String.class, MediaType.class, MediaType::fromPath);
+        registry.addConverter(String.class, ListType.class, ListType::fromPath);
+        registry.addConverter(String.class, ListSort.class, ListSort::fromPath);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(authUserInterceptor).addPathPatterns("/users/auth/**");
+    }
+}
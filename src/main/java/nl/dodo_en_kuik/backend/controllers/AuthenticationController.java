@@ -1,35 +1,50 @@
 package nl.dodo_en_kuik.backend.controllers;
 
+import nl.dodo_en_kuik.backend.enums.ErrorCode;
 import nl.dodo_en_kuik.backend.exceptions.BadRequestException;
+import nl.dodo_en_kuik.backend.exceptions.TooManyRequestsException;
 import nl.dodo_en_kuik.backend.security.payload.AuthenticationRequest;
 import nl.dodo_en_kuik.backend.security.payload.AuthenticationResponse;
+import nl.dodo_en_kuik.backend.security.payload.RefreshRequest;
+import nl.dodo_en_kuik.backend.security.ratelimit.RateLimitProperties;
+import nl.dodo_en_kuik.backend.security.ratelimit.RateLimiter;
+import nl.dodo_en_kuik.backend.services.RefreshTokenService;
+import nl.dodo_en_kuik.backend.services.TokenRevocationService;
 import nl.dodo_en_kuik.backend.utils.JwtUtil;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 
-@CrossOrigin
 @RestController
 public class AuthenticationController {
     private final AuthenticationManager authenticationManager;
-    private final UserDetailsService userDetailsService;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
     private final JwtUtil jwtUtil;
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties rateLimitProperties;
 
     public AuthenticationController(
             AuthenticationManager authenticationManager,
-            UserDetailsService userDetailsService,
-            JwtUtil jwtUtil
+            RefreshTokenService refreshTokenService,
+            TokenRevocationService tokenRevocationService,
+            JwtUtil jwtUtil,
+            RateLimiter rateLimiter,
+            RateLimitProperties rateLimitProperties
     ) {
         this.authenticationManager = authenticationManager;
-        this.userDetailsService = userDetailsService;
+        this.refreshTokenService = refreshTokenService;
+        this.tokenRevocationService = tokenRevocationService;
         this.jwtUtil = jwtUtil;
+        this.rateLimiter = rateLimiter;
+        this.rateLimitProperties = rateLimitProperties;
     }
 
     @PostMapping(value = "/users/authenticate")
@@ -39,18 +54,51 @@ public class AuthenticationController {
         String username = authenticationRequest.getUsername().toUpperCase();
         String password = authenticationRequest.getPassword();
 
+        // Per-IP limits are applied by RateLimitFilter, the username is only known here
+        if (rateLimitProperties.isEnabled()) {
+            long retryAfter = rateLimiter.tryAcquire(
+                    "authentication:user:" + username, rateLimitProperties.getAuthentication()
+            );
+
+            if (retryAfter > 0) {
+                throw new TooManyRequestsException(retryAfter);
+            }
+        }
+
+        final Authentication authentication;
+
         try {
-            authenticationManager.authenticate(
+            authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(username, password)
             );
         } catch (BadCredentialsException exception) {
-            throw new BadRequestException("Onjuiste gebruikersnaam en wachtwoord combinatie");
+            throw new BadRequestException(ErrorCode.INVALID_CREDENTIALS, "Onjuiste gebruikersnaam en wachtwoord combinatie");
         }
 
-        final UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        // The provider already loaded the user, so it is not looked up a second time
+        final UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+
+        return ResponseEntity.ok(refreshTokenService.issueTokens(userDetails));
+    }
 
-        final String jwt = jwtUtil.generateToken(userDetails);
+    @PostMapping(value = "/users/refresh")
+    public ResponseEntity<AuthenticationResponse> refreshAuthenticationToken(
+            @RequestBody RefreshRequest refreshRequest
+    ) {
+        return ResponseEntity.ok(refreshTokenService.refreshTokens(refreshRequest.getRefreshToken()));
+    }
+
+    @PostMapping(value = "/users/logout")
+    public ResponseEntity<String> logout(
+            @RequestHeader("Authorization") String authorizationHeader,
+            @RequestBody(required = false) RefreshRequest refreshRequest
+    ) {
+        tokenRevocationService.revokeToken(jwtUtil.parseToken(authorizationHeader.substring(7)));
+
+        if (refreshRequest != null && refreshRequest.getRefreshToken() != null) {
+            refreshTokenService.revokeTokenFamily(refreshRequest.getRefreshToken());
+        }
 
-        return ResponseEntity.ok(new AuthenticationResponse(jwt));
+        return ResponseEntity.ok("Uitgelogd");
     }
 }
@@ -1,34 +1,73 @@
 package nl.dodo_en_kuik.backend.controllers;
 
 // Imports
+import nl.dodo_en_kuik.backend.enums.ErrorCode;
 import nl.dodo_en_kuik.backend.exceptions.BadRequestException;
 import nl.dodo_en_kuik.backend.exceptions.InvalidInputException;
 import nl.dodo_en_kuik.backend.exceptions.RecordNotFoundException;
+import nl.dodo_en_kuik.backend.exceptions.TooManyRequestsException;
 import nl.dodo_en_kuik.backend.exceptions.UsernameNotFoundException;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
+import static nl.dodo_en_kuik.backend.helpers.BindingResultHelper.handleBindingResultError;
+import static nl.dodo_en_kuik.backend.helpers.ProblemDetailHelper.toProblemDetail;
+
+// Runs before the ProblemDetailsExceptionHandler that spring.mvc.problemdetails.enabled registers at order 0,
+// otherwise that handler answers validation and conversion errors without an error code
 @ControllerAdvice
+@Order(Ordered.HIGHEST_PRECEDENCE)
 public class ExceptionController {
     @ExceptionHandler(value = BadRequestException.class)
-    public ResponseEntity<Object> handleBadRequestException(BadRequestException exception) {
-        return new ResponseEntity<>(exception.getMessage(), HttpStatus.BAD_REQUEST);
+    public ResponseEntity<ProblemDetail> handleBadRequestException(BadRequestException exception) {
+        return ResponseEntity.badRequest()
+                .body(toProblemDetail(HttpStatus.BAD_REQUEST, exception.getCode(), exception.getMessage()));
     }
 
     @ExceptionHandler(value = InvalidInputException.class)
-    public ResponseEntity<Object> handleInvalidInputException(InvalidInputException exception) {
-        return new ResponseEntity<>(exception.getMessage(), HttpStatus.BAD_REQUEST);
+    public ResponseEntity<ProblemDetail> handleInvalidInputException(InvalidInputException exception) {
+        return ResponseEntity.badRequest()
+                .body(toProblemDetail(HttpStatus.BAD_REQUEST, exception.getCode(), exception.getMessage()));
     }
 
     @ExceptionHandler(value = RecordNotFoundException.class)
-    public ResponseEntity<Object> handleRecordNotFoundException(RecordNotFoundException exception) {
-        return new ResponseEntity<>(exception.getMessage(), HttpStatus.NOT_FOUND);
+    public ResponseEntity<ProblemDetail> handleRecordNotFoundException(RecordNotFoundException exception) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(toProblemDetail(HttpStatus.NOT_FOUND, exception.getCode(), exception.getMessage()));
     }
 
     @ExceptionHandler(value = UsernameNotFoundException.class)
-    public ResponseEntity<Object> handleUsernameNotFoundException(UsernameNotFoundException exception) {
-        return new ResponseEntity<>(exception.getMessage(), HttpStatus.NOT_FOUND);
+    public ResponseEntity<ProblemDetail> handleUsernameNotFoundException(UsernameNotFoundException exception) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(toProblemDetail(HttpStatus.NOT_FOUND, exception.getCode(), exception.getMessage()));
+    }
+
+    @ExceptionHandler(value = TooManyRequestsException.class)
+    public ResponseEntity<ProblemDetail> handleTooManyRequestsException(TooManyRequestsException exception) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()))
+                .body(toProblemDetail(HttpStatus.TOO_MANY_REQUESTS, exception.getCode(), exception.getMessage()));
+    }
+
+    @ExceptionHandler(value = MethodArgumentNotValidException.class)
+    public ResponseEntity<ProblemDetail> handleMethodArgumentNotValidException(MethodArgumentNotValidException exception) {
+        return ResponseEntity.badRequest().body(toProblemDetail(
+                HttpStatus.BAD_REQUEST, ErrorCode.VALIDATION_FAILED, handleBindingResultError(exception.getBindingResult())
+        ));
+    }
+
+    @ExceptionHandler(value = MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ProblemDetail> handleMethodArgumentTypeMismatchException(MethodArgumentTypeMismatchException exception) {
+        return ResponseEntity.badRequest().body(toProblemDetail(
+                HttpStatus.BAD_REQUEST, ErrorCode.INVALID_PARAMETER, exception.getMostSpecificCause().getMessage()
+        ));
     }
 }
@@ -0,0 +1,36 @@
+package nl.dodo_en_kuik.backend.controllers;
+
+// Imports
+import nl.dodo_en_kuik.backend.dtos.output.TitleCountDto;
+import nl.dodo_en_kuik.backend.enums.ListType;
+import nl.dodo_en_kuik.backend.enums.MediaType;
+import nl.dodo_en_kuik.backend.enums.UserList;
+import nl.dodo_en_kuik.backend.services.TitleStatsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import java.util.List;
+
+@RestController
+@RequestMapping("/stats")
+public class StatsController {
+    private final TitleStatsService titleStatsService;
+
+    public StatsController(TitleStatsService titleStatsService) {
+        this.titleStatsService = titleStatsService;
+    }
+
+    // ADMIN & USER -- Popularity Requests
+    @GetMapping("/top")
+    public ResponseEntity<List<TitleCountDto>> getTop(
+            @RequestParam("type") MediaType mediaType,
+            @RequestParam("list") ListType listType,
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        List<TitleCountDto> dtos = titleStatsService.getTop(UserList.of(mediaType, listType), limit);
+
+        return ResponseEntity.ok().body(dtos);
+    }
+}
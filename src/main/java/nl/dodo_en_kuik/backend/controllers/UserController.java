@@ -4,54 +4,69 @@ package nl.dodo_en_kuik.backend.controllers;
 
 import jakarta.validation.Valid;
 import nl.dodo_en_kuik.backend.dtos.input.AuthorityInputDto;
+import nl.dodo_en_kuik.backend.dtos.input.BatchInputDto;
 import nl.dodo_en_kuik.backend.dtos.input.IdInputDto;
+import nl.dodo_en_kuik.backend.dtos.input.ListStateInputDto;
+import nl.dodo_en_kuik.backend.dtos.input.MoveInputDto;
+import nl.dodo_en_kuik.backend.dtos.input.ReorderInputDto;
 import nl.dodo_en_kuik.backend.dtos.input.MultipleIdInputDto;
 import nl.dodo_en_kuik.backend.dtos.input.UserInputDto;
+import nl.dodo_en_kuik.backend.dtos.output.BatchResultDto;
+import nl.dodo_en_kuik.backend.dtos.output.ChangeFeedDto;
+import nl.dodo_en_kuik.backend.dtos.output.ListItemDto;
 import nl.dodo_en_kuik.backend.dtos.output.UserDto;
+import nl.dodo_en_kuik.backend.enums.ListSort;
+import nl.dodo_en_kuik.backend.enums.ListType;
+import nl.dodo_en_kuik.backend.enums.MediaType;
+import nl.dodo_en_kuik.backend.enums.UserList;
 import nl.dodo_en_kuik.backend.exceptions.BadRequestException;
-import nl.dodo_en_kuik.backend.exceptions.InvalidInputException;
 import nl.dodo_en_kuik.backend.models.Authority;
+import nl.dodo_en_kuik.backend.services.IdempotencyService;
+import nl.dodo_en_kuik.backend.services.ListChangeBroadcaster;
+import nl.dodo_en_kuik.backend.services.UserListChangeService;
 import nl.dodo_en_kuik.backend.services.UserService;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.net.URI;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.Set;
 
-import static nl.dodo_en_kuik.backend.helpers.BindingResultHelper.handleBindingResultError;
 import static nl.dodo_en_kuik.backend.helpers.UriBuilder.buildUriWithUsername;
 
-@CrossOrigin
 @RestController
 @RequestMapping("/users")
 public class UserController {
     private final UserService userService;
+    private final UserListChangeService userListChangeService;
+    private final ListChangeBroadcaster listChangeBroadcaster;
+    private final IdempotencyService idempotencyService;
 
-    public UserController(UserService userService) {
+    public UserController(
+            UserService userService,
+            UserListChangeService userListChangeService,
+            ListChangeBroadcaster listChangeBroadcaster,
+            IdempotencyService idempotencyService
+    ) {
         this.userService = userService;
+        this.userListChangeService = userListChangeService;
+        this.listChangeBroadcaster = listChangeBroadcaster;
+        this.idempotencyService = idempotencyService;
     }
 
     // ALL -- Register
     @PostMapping("/register")
     public ResponseEntity<UserDto> createUser(
             @Valid
-            @RequestBody UserInputDto inputDto,
-            BindingResult bindingResult
+            @RequestBody UserInputDto inputDto
     ) {
-        if (bindingResult.hasFieldErrors()) {
-            throw new InvalidInputException(handleBindingResultError(bindingResult));
-        } else {
-            UserDto dto = userService.createUser(inputDto);
+        UserDto dto = userService.createUser(inputDto);
 
-            URI uri = buildUriWithUsername(dto);
+        URI uri = buildUriWithUsername(dto);
 
-            return ResponseEntity.created(uri).body(dto);
-        }
+        return ResponseEntity.created(uri).body(dto);
     }
 
     // ADMIN -- CRUD Requests
@@ -62,7 +77,7 @@ public class UserController {
         return ResponseEntity.ok().body(dtos);
     }
 
-    @GetMapping(value = "/{username}")
+    @GetMapping(value = {"/{username}", "/auth/{username}"})
     public ResponseEntity<UserDto> getUser(
             @PathVariable("username") String username
     ) {
@@ -104,716 +119,196 @@ public class UserController {
     public ResponseEntity<Object> assignAuthorityToUser(
             @PathVariable("username") String username,
             @Valid
-            @RequestBody AuthorityInputDto authorityInputDto,
-            BindingResult bindingResult
-    ) {
-        if (bindingResult.hasFieldErrors()) {
-            throw new InvalidInputException(handleBindingResultError(bindingResult));
-        } else {
-            try {
-                UserDto dto = userService.assignAuthorityToUser(username, authorityInputDto.getAuthority().toUpperCase());
-
-                return ResponseEntity.ok().body(dto);
-            } catch (Exception exception) {
-                throw new BadRequestException(exception.getMessage());
-            }
-        }
-    }
-
-    @DeleteMapping(value = "/{username}/authorities")
-    public ResponseEntity<Object> removeAuthorityFromUser(
-            @PathVariable("username") String username,
-            @Valid
-            @RequestBody AuthorityInputDto authorityInputDto,
-            BindingResult bindingResult
-    ) {
-        if (bindingResult.hasFieldErrors()) {
-            throw new InvalidInputException(handleBindingResultError(bindingResult));
-        } else {
-            String confirmation = userService.removeAuthorityFromUser(username, authorityInputDto.getAuthority());
-
-            return ResponseEntity.ok().body(confirmation);
-        }
-    }
-
-    // ADMIN -- Single Movie Requests
-    @PutMapping("/{username}/movies/favorites")
-    public ResponseEntity<Object> assignFavoriteMovieToUser(
-            @PathVariable("username") String username,
-            @Valid
-            @RequestBody IdInputDto inputDto,
-            BindingResult bindingResult
-    ) {
-        if (bindingResult.hasFieldErrors()) {
-            throw new InvalidInputException(handleBindingResultError(bindingResult));
-        } else {
-            UserDto dto = userService.assignIdToSpecificUserList(username, inputDto.getId(), "favorites", true);
-
-            return ResponseEntity.ok().body(dto);
-        }
-    }
-
-    @PutMapping("/{username}/movies/watchlist")
-    public ResponseEntity<Object> assignWatchlistMovieToUser(
-            @PathVariable("username") String username,
-            @Valid
-            @RequestBody IdInputDto inputDto,
-            BindingResult bindingResult
-    ) {
-        if (bindingResult.hasFieldErrors()) {
-            throw new InvalidInputException(handleBindingResultError(bindingResult));
-        } else {
-            UserDto dto = userService.assignIdToSpecificUserList(username, inputDto.getId(), "watchlist", true);
-
-            return ResponseEntity.ok().body(dto);
-        }
-    }
-
-    @PutMapping("/{username}/movies/watched")
-    public ResponseEntity<Object> assignWatchedMovieToUser(
-            @PathVariable("username") String username,
-            @Valid
-            @RequestBody IdInputDto inputDto,
-            BindingResult bindingResult
-    ) {
-        if (bindingResult.hasFieldErrors()) {
-            throw new InvalidInputException(handleBindingResultError(bindingResult));
-        } else {
-            UserDto dto = userService.assignIdToSpecificUserList(username, inputDto.getId(), "watched", true);
-
-            return ResponseEntity.ok().body(dto);
-        }
-    }
-
-    @DeleteMapping("/{username}/movies/favorites")
-    public ResponseEntity<Object> removeFavoriteMovieFromUser(
-            @PathVariable("username") String username,
-            @Valid
-            @RequestBody IdInputDto inputDto,
-            BindingResult bindingResult
-    ) {
-        if (bindingResult.hasFieldErrors()) {
-            throw new InvalidInputException(handleBindingResultError(bindingResult));
-        } else {
-            UserDto dto = userService.removeIdFromSpecificUserList(username, inputDto.getId(), "favorites", true);
-
-            return ResponseEntity.ok().body(dto);
-        }
-    }
-
-    @DeleteMapping("/{username}/movies/watchlist")
-    public ResponseEntity<Object> removeWatchlistMovieFromUser(
-            @PathVariable("username") String username,
-            @Valid
-            @RequestBody IdInputDto inputDto,
-            BindingResult bindingResult
+            @RequestBody AuthorityInputDto authorityInputDto
     ) {
-        if (bindingResult.hasFieldErrors()) {
-            throw new InvalidInputException(handleBindingResultError(bindingResult));
-        } else {
-            UserDto dto = userService.removeIdFromSpecificUserList(username, inputDto.getId(), "watchlist", true);
+        try {
+            UserDto dto = userService.assignAuthorityToUser(username, authorityInputDto.getAuthority().toUpperCase());
 
             return ResponseEntity.ok().body(dto);
+        } catch (Exception exception) {
+            throw new BadRequestException(exception.getMessage());
         }
     }
 
-    @DeleteMapping("/{username}/movies/watched")
-    public ResponseEntity<Object> removeWatchedMovieFromUser(
-            @PathVariable("username") String username,
-            @Valid
-            @RequestBody IdInputDto inputDto,
-            BindingResult bindingResult
-    ) {
-        if (bindingResult.hasFieldErrors()) {
-            throw new InvalidInputException(handleBindingResultError(bindingResult));
-        } else {
-            UserDto dto = userService.removeIdFromSpecificUserList(username, inputDto.getId(), "watched", true);
-
-            return ResponseEntity.ok().body(dto);
-        }
-    }
-
-    // ADMIN -- Single Series Requests
-    @PutMapping("/{username}/series/favorites")
-    public ResponseEntity<Object> assignFavoriteSeriesToUser(
-            @PathVariable("username") String username,
-            @Valid
-            @RequestBody IdInputDto inputDto,
-            BindingResult bindingResult
-    ) {
-        if (bindingResult.hasFieldErrors()) {
-            throw new InvalidInputException(handleBindingResultError(bindingResult));
-        } else {
-            UserDto dto = userService.assignIdToSpecificUserList(username, inputDto.getId(), "favorites", false);
-
-            return ResponseEntity.ok().body(dto);
-        }
-    }
-
-    @PutMapping("/{username}/series/watchlist")
-    public ResponseEntity<Object> assignWatchlistSeriesToUser(
-            @PathVariable("username") String username,
-            @Valid
-            @RequestBody IdInputDto inputDto,
-            BindingResult bindingResult
-    ) {
-        if (bindingResult.hasFieldErrors()) {
-            throw new InvalidInputException(handleBindingResultError(bindingResult));
-        } else {
-            UserDto dto = userService.assignIdToSpecificUserList(username, inputDto.getId(), "watchlist", false);
-
-            return ResponseEntity.ok().body(dto);
-        }
-    }
-
-    @PutMapping("/{username}/series/watched")
-    public ResponseEntity<Object> assignWatchedSeriesToUser(
-            @PathVariable("username") String username,
-            @Valid
-            @RequestBody IdInputDto inputDto,
-            BindingResult bindingResult
-    ) {
-        if (bindingResult.hasFieldErrors()) {
-            throw new InvalidInputException(handleBindingResultError(bindingResult));
-        } else {
-            UserDto dto = userService.assignIdToSpecificUserList(username, inputDto.getId(), "watched", false);
-
-            return ResponseEntity.ok().body(dto);
-        }
-    }
-
-    @DeleteMapping("/{username}/series/favorites")
-    public ResponseEntity<Object> removeFavoriteSeriesFromUser(
-            @PathVariable("username") String username,
-            @Valid
-            @RequestBody IdInputDto inputDto,
-            BindingResult bindingResult
-    ) {
-        if (bindingResult.hasFieldErrors()) {
-            throw new InvalidInputException(handleBindingResultError(bindingResult));
-        } else {
-            UserDto dto = userService.removeIdFromSpecificUserList(username, inputDto.getId(), "favorites", false);
-
-            return ResponseEntity.ok().body(dto);
-        }
-    }
-
-    @DeleteMapping("/{username}/series/watchlist")
-    public ResponseEntity<Object> removeWatchlistSeriesFromUser(
-            @PathVariable("username") String username,
-            @Valid
-            @RequestBody IdInputDto inputDto,
-            BindingResult bindingResult
-    ) {
-        if (bindingResult.hasFieldErrors()) {
-            throw new InvalidInputException(handleBindingResultError(bindingResult));
-        } else {
-            UserDto dto = userService.removeIdFromSpecificUserList(username, inputDto.getId(), "watchlist", false);
-
-            return ResponseEntity.ok().body(dto);
-        }
-    }
-
-    @DeleteMapping("/{username}/series/watched")
-    public ResponseEntity<Object> removeWatchedSeriesFromUser(
-            @PathVariable("username") String username,
-            @Valid
-            @RequestBody IdInputDto inputDto,
-            BindingResult bindingResult
-    ) {
-        if (bindingResult.hasFieldErrors()) {
-            throw new InvalidInputException(handleBindingResultError(bindingResult));
-        } else {
-            UserDto dto = userService.removeIdFromSpecificUserList(username, inputDto.getId(), "watched", false);
-
-            return ResponseEntity.ok().body(dto);
-        }
-    }
-
-    // ADMIN -- Multiple Movie Requests
-    @PutMapping("/{username}/movies/favorites-list")
-    public ResponseEntity<Object> assignMultipleFavoriteMoviesToUser(
-            @PathVariable("username") String username,
-            @Valid
-            @RequestBody MultipleIdInputDto inputDto,
-            BindingResult bindingResult
-            ) {
-        if (bindingResult.hasFieldErrors()) {
-            throw new InvalidInputException(handleBindingResultError(bindingResult));
-        } else {
-            UserDto dto = userService.assignMultipleIdsToSpecificUserList(
-                    username, inputDto.getIds(), "favorites", true
-            );
-
-            return ResponseEntity.ok().body(dto);
-        }
-    }
-
-    @PutMapping("/{username}/movies/watchlist-list")
-    public ResponseEntity<Object> assignMultipleWatchlistMoviesToUser(
-            @PathVariable("username") String username,
-            @Valid
-            @RequestBody MultipleIdInputDto inputDto,
-            BindingResult bindingResult
-    ) {
-        if (bindingResult.hasFieldErrors()) {
-            throw new InvalidInputException(handleBindingResultError(bindingResult));
-        } else {
-            UserDto dto = userService.assignMultipleIdsToSpecificUserList(
-                    username, inputDto.getIds(), "watchlist", true
-            );
-
-            return ResponseEntity.ok().body(dto);
-        }
-    }
-
-    @PutMapping("/{username}/movies/watched-list")
-    public ResponseEntity<Object> assignMultipleWatchedMoviesToUser(
+    @DeleteMapping(value = "/{username}/authorities")
+    public ResponseEntity<Object> removeAuthorityFromUser(
             @PathVariable("username") String username,
             @Valid
-            @RequestBody MultipleIdInputDto inputDto,
-            BindingResult bindingResult
+            @RequestBody AuthorityInputDto authorityInputDto
     ) {
-        if (bindingResult.hasFieldErrors()) {
-            throw new InvalidInputException(handleBindingResultError(bindingResult));
-        } else {
-            UserDto dto = userService.assignMultipleIdsToSpecificUserList(
-                    username, inputDto.getIds(), "watched", true
-            );
+        String confirmation = userService.removeAuthorityFromUser(username, authorityInputDto.getAuthority());
 
-            return ResponseEntity.ok().body(dto);
-        }
+        return ResponseEntity.ok().body(confirmation);
     }
 
-    @DeleteMapping("/{username}/movies/favorites-list")
-    public ResponseEntity<Object> removeMultipleFavoriteMoviesFromUser(
+    // ADMIN & USER (AUTH) -- Single Movie/Series Requests
+    @PutMapping({"/{username}/{mediaType}/{listType}", "/auth/{username}/{mediaType}/{listType}"})
+    public ResponseEntity<Object> assignIdToUserList(
             @PathVariable("username") String username,
+            @PathVariable("mediaType") MediaType mediaType,
+            @PathVariable("listType") ListType listType,
             @Valid
-            @RequestBody MultipleIdInputDto inputDto,
-            BindingResult bindingResult
+            @RequestBody IdInputDto inputDto
     ) {
-        if (bindingResult.hasFieldErrors()) {
-            throw new InvalidInputException(handleBindingResultError(bindingResult));
-        } else {
-            UserDto dto = userService.removeMultipleIdsFromSpecificUserList(
-                    username, inputDto.getIds(), "favorites", true
-            );
+        UserDto dto = userService.assignIdToSpecificUserList(
+                username, inputDto.getId(), UserList.of(mediaType, listType)
+        );
 
-            return ResponseEntity.ok().body(dto);
-        }
+        return ResponseEntity.ok().body(dto);
     }
 
-    @DeleteMapping("/{username}/movies/watchlist-list")
-    public ResponseEntity<Object> removeMultipleWatchlistMoviesFromUser(
+    @DeleteMapping({"/{username}/{mediaType}/{listType}", "/auth/{username}/{mediaType}/{listType}"})
+    public ResponseEntity<Object> removeIdFromUserList(
             @PathVariable("username") String username,
+            @PathVariable("mediaType") MediaType mediaType,
+            @PathVariable("listType") ListType listType,
             @Valid
-            @RequestBody MultipleIdInputDto inputDto,
-            BindingResult bindingResult
+            @RequestBody IdInputDto inputDto
     ) {
-        if (bindingResult.hasFieldErrors()) {
-            throw new InvalidInputException(handleBindingResultError(bindingResult));
-        } else {
-            UserDto dto = userService.removeMultipleIdsFromSpecificUserList(
-                    username, inputDto.getIds(), "watchlist", true
-            );
+        UserDto dto = userService.removeIdFromSpecificUserList(
+                username, inputDto.getId(), UserList.of(mediaType, listType)
+        );
 
-            return ResponseEntity.ok().body(dto);
-        }
+        return ResponseEntity.ok().body(dto);
     }
 
-    @DeleteMapping("/{username}/movies/watched-list")
-    public ResponseEntity<Object> removeMultipleWatchedMoviesFromUser(
+    // ADMIN & USER (AUTH) -- Multiple Movie/Series Requests
+    @PutMapping({"/{username}/{mediaType}/{listType}-list", "/auth/{username}/{mediaType}/{listType}-list"})
+    public ResponseEntity<Object> assignMultipleIdsToUserList(
             @PathVariable("username") String username,
+            @PathVariable("mediaType") MediaType mediaType,
+            @PathVariable("listType") ListType listType,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @Valid
-            @RequestBody MultipleIdInputDto inputDto,
-            BindingResult bindingResult
+            @RequestBody MultipleIdInputDto inputDto
     ) {
-        if (bindingResult.hasFieldErrors()) {
-            throw new InvalidInputException(handleBindingResultError(bindingResult));
-        } else {
-            UserDto dto = userService.removeMultipleIdsFromSpecificUserList(
-                    username, inputDto.getIds(), "watched", true
-            );
+        UserList list = UserList.of(mediaType, listType);
+        UserDto dto = idempotencyService.execute(
+                "PUT " + username.toUpperCase() + " " + list, idempotencyKey, inputDto.getIds(),
+                () -> userService.assignMultipleIdsToSpecificUserList(username, inputDto.getIds(), list)
+        );
 
-            return ResponseEntity.ok().body(dto);
-        }
+        return ResponseEntity.ok().body(dto);
     }
 
-    // ADMIN -- Multiple Series Requests
-    @PutMapping("/{username}/series/favorites-list")
-    public ResponseEntity<Object> assignMultipleFavoriteSeriesToUser(
+    @DeleteMapping({"/{username}/{mediaType}/{listType}-list", "/auth/{username}/{mediaType}/{listType}-list"})
+    public ResponseEntity<Object> removeMultipleIdsFromUserList(
             @PathVariable("username") String username,
+            @PathVariable("mediaType") MediaType mediaType,
+            @PathVariable("listType") ListType listType,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @Valid
-            @RequestBody MultipleIdInputDto inputDto,
-            BindingResult bindingResult
+            @RequestBody MultipleIdInputDto inputDto
     ) {
-        if (bindingResult.hasFieldErrors()) {
-            throw new InvalidInputException(handleBindingResultError(bindingResult));
-        } else {
-            UserDto dto = userService.assignMultipleIdsToSpecificUserList(
-                    username, inputDto.getIds(), "favorites", false
-            );
+        UserList list = UserList.of(mediaType, listType);
+        UserDto dto = idempotencyService.execute(
+                "DELETE " + username.toUpperCase() + " " + list, idempotencyKey, inputDto.getIds(),
+                () -> userService.removeMultipleIdsFromSpecificUserList(username, inputDto.getIds(), list)
+        );
 
-            return ResponseEntity.ok().body(dto);
-        }
+        return ResponseEntity.ok().body(dto);
     }
 
-    @PutMapping("/{username}/series/watchlist-list")
-    public ResponseEntity<Object> assignMultipleWatchlistSeriesToUser(
+    // ADMIN & USER (AUTH) -- Ordered List Requests
+    @GetMapping({"/{username}/{mediaType}/{listType}", "/auth/{username}/{mediaType}/{listType}"})
+    public ResponseEntity<List<ListItemDto>> getUserListItems(
             @PathVariable("username") String username,
-            @Valid
-            @RequestBody MultipleIdInputDto inputDto,
-            BindingResult bindingResult
+            @PathVariable("mediaType") MediaType mediaType,
+            @PathVariable("listType") ListType listType,
+            @RequestParam(defaultValue = "position") ListSort sort,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size
     ) {
-        if (bindingResult.hasFieldErrors()) {
-            throw new InvalidInputException(handleBindingResultError(bindingResult));
-        } else {
-            UserDto dto = userService.assignMultipleIdsToSpecificUserList(
-                    username, inputDto.getIds(), "watchlist", false
-            );
+        List<ListItemDto> dtos = userService.getUserListItems(
+                username, UserList.of(mediaType, listType), sort, page, size
+        );
 
-            return ResponseEntity.ok().body(dto);
-        }
+        return ResponseEntity.ok().body(dtos);
     }
 
-    @PutMapping("/{username}/series/watched-list")
-    public ResponseEntity<Object> assignMultipleWatchedSeriesToUser(
+    @PatchMapping("/auth/{username}/{mediaType}/{listType}/{id}")
+    public ResponseEntity<ListItemDto> moveIdWithinUserList(
             @PathVariable("username") String username,
-            @Valid
-            @RequestBody MultipleIdInputDto inputDto,
-            BindingResult bindingResult
+            @PathVariable("mediaType") MediaType mediaType,
+            @PathVariable("listType") ListType listType,
+            @PathVariable("id") Long id,
+            @RequestBody ReorderInputDto inputDto
     ) {
-        if (bindingResult.hasFieldErrors()) {
-            throw new InvalidInputException(handleBindingResultError(bindingResult));
-        } else {
-            UserDto dto = userService.assignMultipleIdsToSpecificUserList(
-                    username, inputDto.getIds(), "watched", false
-            );
+        ListItemDto dto = userService.moveIdWithinUserList(
+                username, id, inputDto.getAfterId(), UserList.of(mediaType, listType)
+        );
 
-            return ResponseEntity.ok().body(dto);
-        }
+        return ResponseEntity.ok().body(dto);
     }
 
-    @DeleteMapping("/{username}/series/favorites-list")
-    public ResponseEntity<Object> removeMultipleFavoriteSeriesFromUser(
+    // USER (AUTH) -- Move Requests
+    @PostMapping("/auth/{username}/{mediaType}/move")
+    public ResponseEntity<Object> moveIdsBetweenUserLists(
             @PathVariable("username") String username,
+            @PathVariable("mediaType") MediaType mediaType,
             @Valid
-            @RequestBody MultipleIdInputDto inputDto,
-            BindingResult bindingResult
+            @RequestBody MoveInputDto inputDto
     ) {
-        if (bindingResult.hasFieldErrors()) {
-            throw new InvalidInputException(handleBindingResultError(bindingResult));
-        } else {
-            UserDto dto = userService.removeMultipleIdsFromSpecificUserList(
-                    username, inputDto.getIds(), "favorites", false
-            );
+        UserDto dto = userService.moveIdsBetweenUserLists(
+                username,
+                inputDto.getIds(),
+                UserList.of(mediaType, inputDto.getFrom()),
+                UserList.of(mediaType, inputDto.getTo())
+        );
 
-            return ResponseEntity.ok().body(dto);
-        }
+        return ResponseEntity.ok().body(dto);
     }
 
-    @DeleteMapping("/{username}/series/watchlist-list")
-    public ResponseEntity<Object> removeMultipleWatchlistSeriesFromUser(
+    // USER (AUTH) -- Batch Requests
+    @PostMapping("/auth/{username}/batch")
+    public ResponseEntity<BatchResultDto> applyBatch(
             @PathVariable("username") String username,
             @Valid
-            @RequestBody MultipleIdInputDto inputDto,
-            BindingResult bindingResult
+            @RequestBody BatchInputDto inputDto
     ) {
-        if (bindingResult.hasFieldErrors()) {
-            throw new InvalidInputException(handleBindingResultError(bindingResult));
-        } else {
-            UserDto dto = userService.removeMultipleIdsFromSpecificUserList(
-                    username, inputDto.getIds(), "watchlist", false
-            );
+        BatchResultDto dto = userService.applyBatch(username, inputDto.getOperations());
 
-            return ResponseEntity.ok().body(dto);
-        }
+        return ResponseEntity.ok().body(dto);
     }
 
-    @DeleteMapping("/{username}/series/watched-list")
-    public ResponseEntity<Object> removeMultipleWatchedSeriesFromUser(
+    // USER (AUTH) -- List State Requests
+    @PostMapping("/auth/{username}/list-state")
+    public ResponseEntity<Map<Long, Integer>> getListStates(
             @PathVariable("username") String username,
             @Valid
-            @RequestBody MultipleIdInputDto inputDto,
-            BindingResult bindingResult
+            @RequestBody ListStateInputDto inputDto
     ) {
-        if (bindingResult.hasFieldErrors()) {
-            throw new InvalidInputException(handleBindingResultError(bindingResult));
-        } else {
-            UserDto dto = userService.removeMultipleIdsFromSpecificUserList(
-                    username, inputDto.getIds(), "watched", false
-            );
+        Map<Long, Integer> states = userService.getListStates(username, inputDto.getIds());
 
-            return ResponseEntity.ok().body(dto);
-        }
+        return ResponseEntity.ok().body(states);
     }
 
-    // USER (AUTH) -- CRUD Requests
-    @GetMapping(value = "/auth/{username}")
-    public ResponseEntity<UserDto> getAuthUser(
-            @AuthenticationPrincipal UserDetails userDetails,
+    // USER (AUTH) -- List Counter Requests
+    @GetMapping("/auth/{username}/stats")
+    public ResponseEntity<Map<String, Long>> getListCounts(
             @PathVariable("username") String username
     ) {
-        if (Objects.equals(userDetails.getUsername(), username.toUpperCase())) {
-            UserDto dto = userService.getUser(username);
-
-            return ResponseEntity.ok().body(dto);
-        } else {
-            throw new BadRequestException("Used token is not valid");
-        }
-    }
-
-    // USER (AUTH) -- Movies Requests
-    @PutMapping("/auth/{username}/movies/favorites")
-    public ResponseEntity<Object> assignFavoriteMovieToAuthUser(
-            @AuthenticationPrincipal UserDetails userDetails,
-            @PathVariable("username") String username,
-            @Valid
-            @RequestBody IdInputDto inputDto,
-            BindingResult bindingResult
-    ) {
-        if (Objects.equals(userDetails.getUsername(), username.toUpperCase())) {
-            if (bindingResult.hasFieldErrors()) {
-                throw new InvalidInputException(handleBindingResultError(bindingResult));
-            } else {
-                UserDto dto = userService.assignIdToSpecificUserList(username, inputDto.getId(), "favorites", true);
-
-                return ResponseEntity.ok().body(dto);
-            }
-        } else {
-            throw new BadRequestException("Used token is not valid");
-        }
-    }
-
-    @PutMapping("/auth/{username}/movies/watchlist")
-    public ResponseEntity<Object> assignWatchlistMovieToAuthUser(
-            @AuthenticationPrincipal UserDetails userDetails,
-            @PathVariable("username") String username,
-            @Valid
-            @RequestBody IdInputDto inputDto,
-            BindingResult bindingResult
-    ) {
-        if (Objects.equals(userDetails.getUsername(), username.toUpperCase())) {
-            if (bindingResult.hasFieldErrors()) {
-                throw new InvalidInputException(handleBindingResultError(bindingResult));
-            } else {
-                UserDto dto = userService.assignIdToSpecificUserList(username, inputDto.getId(), "watchlist", true);
-
-                return ResponseEntity.ok().body(dto);
-            }
-        } else {
-            throw new BadRequestException("Used token is not valid");
-        }
-    }
-
-    @PutMapping("/auth/{username}/movies/watched")
-    public ResponseEntity<Object> assignWatchedMovieToAuthUser(
-            @AuthenticationPrincipal UserDetails userDetails,
-            @PathVariable("username") String username,
-            @Valid
-            @RequestBody IdInputDto inputDto,
-            BindingResult bindingResult
-    ) {
-        if (Objects.equals(userDetails.getUsername(), username.toUpperCase())) {
-            if (bindingResult.hasFieldErrors()) {
-                throw new InvalidInputException(handleBindingResultError(bindingResult));
-            } else {
-                UserDto dto = userService.assignIdToSpecificUserList(username, inputDto.getId(), "watched", true);
-
-                return ResponseEntity.ok().body(dto);
-            }
-        } else {
-            throw new BadRequestException("Used token is not valid");
-        }
-    }
-
-    @DeleteMapping("/auth/{username}/movies/favorites")
-    public ResponseEntity<Object> removeFavoriteMovieFromAuthUser(
-            @AuthenticationPrincipal UserDetails userDetails,
-            @PathVariable("username") String username,
-            @Valid
-            @RequestBody IdInputDto inputDto,
-            BindingResult bindingResult
-    ) {
-        if (Objects.equals(userDetails.getUsername(), username.toUpperCase())) {
-            if (bindingResult.hasFieldErrors()) {
-                throw new InvalidInputException(handleBindingResultError(bindingResult));
-            } else {
-                UserDto dto = userService.removeIdFromSpecificUserList(username, inputDto.getId(), "favorites", true);
-
-                return ResponseEntity.ok().body(dto);
-            }
-        } else {
-            throw new BadRequestException("Used token is not valid");
-        }
-    }
-
-    @DeleteMapping("/auth/{username}/movies/watchlist")
-    public ResponseEntity<Object> removeWatchlistMovieFromAuthUser(
-            @AuthenticationPrincipal UserDetails userDetails,
-            @PathVariable("username") String username,
-            @Valid
-            @RequestBody IdInputDto inputDto,
-            BindingResult bindingResult
-    ) {
-        if (Objects.equals(userDetails.getUsername(), username.toUpperCase())) {
-            if (bindingResult.hasFieldErrors()) {
-                throw new InvalidInputException(handleBindingResultError(bindingResult));
-            } else {
-                UserDto dto = userService.removeIdFromSpecificUserList(username, inputDto.getId(), "watchlist", true);
-
-                return ResponseEntity.ok().body(dto);
-            }
-        } else {
-            throw new BadRequestException("Used token is not valid");
-        }
-    }
+        Map<String, Long> counts = userService.getListCounts(username);
 
-    @DeleteMapping("/auth/{username}/movies/watched")
-    public ResponseEntity<Object> removeWatchedMovieFromAuthUser(
-            @AuthenticationPrincipal UserDetails userDetails,
-            @PathVariable("username") String username,
-            @Valid
-            @RequestBody IdInputDto inputDto,
-            BindingResult bindingResult
-    ) {
-        if (Objects.equals(userDetails.getUsername(), username.toUpperCase())) {
-            if (bindingResult.hasFieldErrors()) {
-                throw new InvalidInputException(handleBindingResultError(bindingResult));
-            } else {
-                UserDto dto = userService.removeIdFromSpecificUserList(username, inputDto.getId(), "watched", true);
-
-                return ResponseEntity.ok().body(dto);
-            }
-        } else {
-            throw new BadRequestException("Used token is not valid");
-        }
+        return ResponseEntity.ok().body(counts);
     }
 
-    // USER (AUTH) -- Series Requests
-    @PutMapping("/auth/{username}/series/favorites")
-    public ResponseEntity<Object> assignFavoriteSeriesToAuthUser(
-            @AuthenticationPrincipal UserDetails userDetails,
+    // USER (AUTH) -- Change Feed Requests
+    @GetMapping("/auth/{username}/changes")
+    public ResponseEntity<ChangeFeedDto> getChanges(
             @PathVariable("username") String username,
-            @Valid
-            @RequestBody IdInputDto inputDto,
-            BindingResult bindingResult
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "500") int limit
     ) {
-        if (Objects.equals(userDetails.getUsername(), username.toUpperCase())) {
-            if (bindingResult.hasFieldErrors()) {
-                throw new InvalidInputException(handleBindingResultError(bindingResult));
-            } else {
-                UserDto dto = userService.assignIdToSpecificUserList(username, inputDto.getId(), "favorites", false);
-
-                return ResponseEntity.ok().body(dto);
-            }
-        } else {
-            throw new BadRequestException("Used token is not valid");
-        }
-    }
+        ChangeFeedDto dto = userListChangeService.getChanges(username, since, limit);
 
-    @PutMapping("/auth/{username}/series/watchlist")
-    public ResponseEntity<Object> assignWatchlistSeriesToAuthUser(
-            @AuthenticationPrincipal UserDetails userDetails,
-            @PathVariable("username") String username,
-            @Valid
-            @RequestBody IdInputDto inputDto,
-            BindingResult bindingResult
-    ) {
-        if (Objects.equals(userDetails.getUsername(), username.toUpperCase())) {
-            if (bindingResult.hasFieldErrors()) {
-                throw new InvalidInputException(handleBindingResultError(bindingResult));
-            } else {
-                UserDto dto = userService.assignIdToSpecificUserList(username, inputDto.getId(), "watchlist", false);
-
-                return ResponseEntity.ok().body(dto);
-            }
-        } else {
-            throw new BadRequestException("Used token is not valid");
-        }
-    }
-
-    @PutMapping("/auth/{username}/series/watched")
-    public ResponseEntity<Object> assignWatchedSeriesToAuthUser(
-            @AuthenticationPrincipal UserDetails userDetails,
-            @PathVariable("username") String username,
-            @Valid
-            @RequestBody IdInputDto inputDto,
-            BindingResult bindingResult
-    ) {
-        if (Objects.equals(userDetails.getUsername(), username.toUpperCase())) {
-            if (bindingResult.hasFieldErrors()) {
-                throw new InvalidInputException(handleBindingResultError(bindingResult));
-            } else {
-                UserDto dto = userService.assignIdToSpecificUserList(username, inputDto.getId(), "watched", false);
-
-                return ResponseEntity.ok().body(dto);
-            }
-        } else {
-            throw new BadRequestException("Used token is not valid");
-        }
-    }
-
-    @DeleteMapping("/auth/{username}/series/favorites")
-    public ResponseEntity<Object> removeFavoriteSeriesFromAuthUser(
-            @AuthenticationPrincipal UserDetails userDetails,
-            @PathVariable("username") String username,
-            @Valid
-            @RequestBody IdInputDto inputDto,
-            BindingResult bindingResult
-    ) {
-        if (Objects.equals(userDetails.getUsername(), username.toUpperCase())) {
-            if (bindingResult.hasFieldErrors()) {
-                throw new InvalidInputException(handleBindingResultError(bindingResult));
-            } else {
-                UserDto dto = userService.removeIdFromSpecificUserList(username, inputDto.getId(), "favorites", false);
-
-                return ResponseEntity.ok().body(dto);
-            }
-        } else {
-            throw new BadRequestException("Used token is not valid");
-        }
-    }
-
-    @DeleteMapping("/auth/{username}/series/watchlist")
-    public ResponseEntity<Object> removeWatchlistSeriesFromAuthUser(
-            @AuthenticationPrincipal UserDetails userDetails,
-            @PathVariable("username") String username,
-            @Valid
-            @RequestBody IdInputDto inputDto,
-            BindingResult bindingResult
-    ) {
-        if (Objects.equals(userDetails.getUsername(), username.toUpperCase())) {
-            if (bindingResult.hasFieldErrors()) {
-                throw new InvalidInputException(handleBindingResultError(bindingResult));
-            } else {
-                UserDto dto = userService.removeIdFromSpecificUserList(username, inputDto.getId(), "watchlist", false);
-
-                return ResponseEntity.ok().body(dto);
-            }
-        } else {
-            throw new BadRequestException("Used token is not valid");
-        }
+        return ResponseEntity.ok().body(dto);
     }
 
-    @DeleteMapping("/auth/{username}/series/watched")
-    public ResponseEntity<Object> removeWatchedSeriesFromAuthUser(
-            @AuthenticationPrincipal UserDetails userDetails,
-            @PathVariable("username") String username,
-            @Valid
-            @RequestBody IdInputDto inputDto,
-            BindingResult bindingResult
+    @GetMapping(value = "/auth/{username}/events", produces = "text/event-stream")
+    public SseEmitter streamChanges(
+            @PathVariable("username") String username
     ) {
-        if (Objects.equals(userDetails.getUsername(), username.toUpperCase())) {
-            if (bindingResult.hasFieldErrors()) {
-                throw new InvalidInputException(handleBindingResultError(bindingResult));
-            } else {
-                UserDto dto = userService.removeIdFromSpecificUserList(username, inputDto.getId(), "watched", false);
-
-                return ResponseEntity.ok().body(dto);
-            }
-        } else {
-            throw new BadRequestException("Used token is not valid");
-        }
+        return listChangeBroadcaster.subscribe(username);
     }
 }
@@ -0,0 +1,18 @@
+package nl.dodo_en_kuik.backend.dtos.input;
+
+// Imports
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+import java.util.List;
+
+@Getter
+@Setter
+public class BatchInputDto {
+    @Valid
+    @NotNull(message = "Operations are required")
+    @Size(min = 1, max = 500, message = "Between 1 and 500 operations can be sent at once")
+    private List<BatchOperationInputDto> operations;
+}
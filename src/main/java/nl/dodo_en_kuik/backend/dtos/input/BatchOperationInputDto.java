@@ -0,0 +1,29 @@
+package nl.dodo_en_kuik.backend.dtos.input;
+
+// Imports
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+import nl.dodo_en_kuik.backend.enums.BatchOperation;
+import nl.dodo_en_kuik.backend.enums.ListType;
+import nl.dodo_en_kuik.backend.enums.MediaType;
+
+@Getter
+@Setter
+public class BatchOperationInputDto {
+    @NotNull(message = "Operation is required")
+    private BatchOperation op;
+
+    @NotNull(message = "Media type is required")
+    private MediaType mediaType;
+
+    // The list to add to or remove from, or the source list of a move
+    @NotNull(message = "List type is required")
+    private ListType listType;
+
+    // Only used by move
+    private ListType to;
+
+    @NotNull(message = "Id is required")
+    private Long id;
+}
@@ -0,0 +1,16 @@
+package nl.dodo_en_kuik.backend.dtos.input;
+
+// Imports
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+import java.util.List;
+
+@Getter
+@Setter
+public class ListStateInputDto {
+    @NotNull(message = "Ids are required")
+    @Size(max = 100, message = "A maximum of 100 ids can be requested at once")
+    private List<@NotNull(message = "Ids must not contain null") Long> ids;
+}
@@ -0,0 +1,23 @@
+package nl.dodo_en_kuik.backend.dtos.input;
+
+// Imports
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+import nl.dodo_en_kuik.backend.enums.ListType;
+import java.util.List;
+
+@Getter
+@Setter
+public class MoveInputDto {
+    @NotNull(message = "From list is required")
+    private ListType from;
+
+    @NotNull(message = "To list is required")
+    private ListType to;
+
+    @NotNull(message = "Ids are required")
+    @Size(min = 1, max = 1000, message = "Between 1 and 1000 ids can be moved at once")
+    private List<@NotNull(message = "Ids must not contain null") Long> ids;
+}
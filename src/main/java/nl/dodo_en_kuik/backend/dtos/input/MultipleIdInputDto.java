@@ -10,5 +10,5 @@ import java.util.List;
 @Setter
 public class MultipleIdInputDto {
     @NotNull(message = "Ids are required")
-    private List<Long> ids;
+    private List<@NotNull(message = "Ids must not contain null") Long> ids;
 }
@@ -0,0 +1,12 @@
+package nl.dodo_en_kuik.backend.dtos.input;
+
+// Imports
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class ReorderInputDto {
+    // Id of the item to place this one after, null moves it to the top
+    private Long afterId;
+}
@@ -0,0 +1,18 @@
+package nl.dodo_en_kuik.backend.dtos.output;
+
+// Imports
+import lombok.Getter;
+import lombok.Setter;
+import nl.dodo_en_kuik.backend.enums.BatchOperation;
+
+@Getter
+@Setter
+public class BatchOperationResultDto {
+    // Variables
+    private int index;
+    private BatchOperation op;
+    private Long id;
+
+    // False when the list already was in the requested state
+    private boolean changed;
+}
@@ -0,0 +1,14 @@
+package nl.dodo_en_kuik.backend.dtos.output;
+
+// Imports
+import lombok.Getter;
+import lombok.Setter;
+import java.util.List;
+
+@Getter
+@Setter
+public class BatchResultDto {
+    // Variables
+    private List<BatchOperationResultDto> results;
+    private UserDto user;
+}
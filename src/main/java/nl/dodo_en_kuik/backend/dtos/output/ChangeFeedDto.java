@@ -0,0 +1,18 @@
+package nl.dodo_en_kuik.backend.dtos.output;
+
+// Imports
+import lombok.Getter;
+import lombok.Setter;
+import java.util.List;
+
+@Getter
+@Setter
+public class ChangeFeedDto {
+    // Variables
+    private List<ListChangeDto> changes;
+    private Long latestSequence;
+    private boolean hasMore;
+
+    // True when changes after the requested sequence were compacted away: fetch the full user again
+    private boolean resyncRequired;
+}
@@ -0,0 +1,22 @@
+package nl.dodo_en_kuik.backend.dtos.output;
+
+// Imports
+import lombok.Getter;
+import lombok.Setter;
+import nl.dodo_en_kuik.backend.enums.ChangeOperation;
+import nl.dodo_en_kuik.backend.enums.ListType;
+import nl.dodo_en_kuik.backend.enums.MediaType;
+import java.time.Instant;
+
+@Getter
+@Setter
+public class ListChangeDto {
+    // Variables
+    private Long sequence;
+    private MediaType mediaType;
+    private ListType listType;
+    private Long id;
+    private ChangeOperation operation;
+    private Long position;
+    private Instant changedAt;
+}
@@ -0,0 +1,15 @@
+package nl.dodo_en_kuik.backend.dtos.output;
+
+// Imports
+import lombok.Getter;
+import lombok.Setter;
+import java.time.Instant;
+
+@Getter
+@Setter
+public class ListItemDto {
+    // Variables
+    private Long id;
+    private Instant addedAt;
+    private Long position;
+}
@@ -0,0 +1,13 @@
+package nl.dodo_en_kuik.backend.dtos.output;
+
+// Imports
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class TitleCountDto {
+    // Variables
+    private Long id;
+    private long count;
+}
@@ -13,7 +13,6 @@ import java.util.Set;
 public class UserDto implements IdentifiableUsername {
     // Variables
     private String username;
-    private String password;
     private String email;
 
     // Relations
@@ -0,0 +1,33 @@
+package nl.dodo_en_kuik.backend.enums;
+
+// Imports
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import lombok.Getter;
+import nl.dodo_en_kuik.backend.exceptions.BadRequestException;
+
+@Getter
+public enum BatchOperation {
+    ADD("add"),
+    REMOVE("remove"),
+    MOVE("move");
+
+    // Variables
+    @JsonValue
+    private final String path;
+
+    BatchOperation(String path) {
+        this.path = path;
+    }
+
+    @JsonCreator
+    public static BatchOperation fromPath(String path) {
+        for (BatchOperation operation : values()) {
+            if (operation.path.equalsIgnoreCase(path)) {
+                return operation;
+            }
+        }
+
+        throw new BadRequestException("Ongeldige operatie: " + path);
+    }
+}
@@ -0,0 +1,7 @@
+package nl.dodo_en_kuik.backend.enums;
+
+public enum ChangeOperation {
+    ADD,
+    REMOVE,
+    REORDER
+}
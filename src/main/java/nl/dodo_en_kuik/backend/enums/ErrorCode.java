@@ -0,0 +1,19 @@
+package nl.dodo_en_kuik.backend.enums;
+
+// Stable identifiers clients can match on, independent of the (translated) message
+public enum ErrorCode {
+    BAD_REQUEST,
+    INVALID_INPUT,
+    VALIDATION_FAILED,
+    INVALID_PARAMETER,
+    RECORD_NOT_FOUND,
+    USER_NOT_FOUND,
+    USER_ALREADY_EXISTS,
+    LIST_ITEM_NOT_ADDED,
+    INVALID_CREDENTIALS,
+    INVALID_TOKEN,
+    INVALID_REFRESH_TOKEN,
+    REFRESH_TOKEN_REUSED,
+    IDEMPOTENCY_KEY_REUSED,
+    TOO_MANY_REQUESTS
+}
@@ -0,0 +1,31 @@
+package nl.dodo_en_kuik.backend.enums;
+
+// Imports
+import lombok.Getter;
+import nl.dodo_en_kuik.backend.exceptions.BadRequestException;
+
+@Getter
+public enum ListSort {
+    // Ids added in one request share added_at, so each order ends in a unique key to keep pages stable
+    POSITION("position", "i.position ASC, i.mediaId ASC"),
+    ADDED("added", "i.addedAt DESC, i.position DESC, i.mediaId DESC");
+
+    // Variables
+    private final String path;
+    private final String orderBy;
+
+    ListSort(String path, String orderBy) {
+        this.path = path;
+        this.orderBy = orderBy;
+    }
+
+    public static ListSort fromPath(String path) {
+        for (ListSort listSort : values()) {
+            if (listSort.path.equalsIgnoreCase(path)) {
+                return listSort;
+            }
+        }
+
+        throw new BadRequestException("Ongeldige sortering: " + path);
+    }
+}
@@ -0,0 +1,35 @@
+package nl.dodo_en_kuik.backend.enums;
+
+// Imports
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import lombok.Getter;
+import nl.dodo_en_kuik.backend.exceptions.BadRequestException;
+
+@Getter
+public enum ListType {
+    FAVORITES("favorites", "favorieten"),
+    WATCHLIST("watchlist", "watchlist"),
+    WATCHED("watched", "al gezien");
+
+    // Variables
+    @JsonValue
+    private final String path;
+    private final String label;
+
+    ListType(String path, String label) {
+        this.path = path;
+        this.label = label;
+    }
+
+    @JsonCreator
+    public static ListType fromPath(String path) {
+        for (ListType listType : values()) {
+            if (listType.path.equalsIgnoreCase(path)) {
+                return listType;
+            }
+        }
+
+        throw new BadRequestException("Ongeldige lijstnaam: " + path);
+    }
+}
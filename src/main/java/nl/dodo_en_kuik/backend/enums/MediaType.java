@@ -0,0 +1,34 @@
+package nl.dodo_en_kuik.backend.enums;
+
+// Imports
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import lombok.Getter;
+import nl.dodo_en_kuik.backend.exceptions.BadRequestException;
+
+@Getter
+public enum MediaType {
+    MOVIES("movies", "Film"),
+    SERIES("series", "Serie");
+
+    // Variables
+    @JsonValue
+    private final String path;
+    private final String label;
+
+    MediaType(String path, String label) {
+        this.path = path;
+        this.label = label;
+    }
+
+    @JsonCreator
+    public static MediaType fromPath(String path) {
+        for (MediaType mediaType : values()) {
+            if (mediaType.path.equalsIgnoreCase(path)) {
+                return mediaType;
+            }
+        }
+
+        throw new BadRequestException("Ongeldig mediatype: " + path);
+    }
+}
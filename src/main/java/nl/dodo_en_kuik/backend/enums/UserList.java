@@ -0,0 +1,103 @@
+package nl.dodo_en_kuik.backend.enums;
+
+// Imports
+import lombok.AccessLevel;
+import lombok.Getter;
+import nl.dodo_en_kuik.backend.models.ListItem;
+import nl.dodo_en_kuik.backend.models.User;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+@Getter
+public enum UserList {
+    FAVORITE_MOVIES(MediaType.MOVIES, ListType.FAVORITES, "favoriteMovies", "user_favorite_movies", "movie_id",
+            User::getFavoriteMovies, User::addFavoriteMovie, User::removeFavoriteMovie),
+    WATCHLIST_MOVIES(MediaType.MOVIES, ListType.WATCHLIST, "watchlistMovies", "user_watchlist_movies", "movie_id",
+            User::getWatchlistMovies, User::addWatchlistMovie, User::removeWatchlistMovie),
+    WATCHED_MOVIES(MediaType.MOVIES, ListType.WATCHED, "watchedMovies", "user_watched_movies", "movie_id",
+            User::getWatchedMovies, User::addWatchedMovie, User::removeWatchedMovie),
+    FAVORITE_SERIES(MediaType.SERIES, ListType.FAVORITES, "favoriteSeries", "user_favorite_series", "series_id",
+            User::getFavoriteSeries, User::addFavoriteSeries, User::removeFavoriteSeries),
+    WATCHLIST_SERIES(MediaType.SERIES, ListType.WATCHLIST, "watchlistSeries", "user_watchlist_series", "series_id",
+            User::getWatchlistSeries, User::addWatchlistSeries, User::removeWatchlistSeries),
+    WATCHED_SERIES(MediaType.SERIES, ListType.WATCHED, "watchedSeries", "user_watched_series", "series_id",
+            User::getWatchedSeries, User::addWatchedSeries, User::removeWatchedSeries);
+
+    private static final Map<MediaType, Map<ListType, UserList>> LOOKUP = new EnumMap<>(MediaType.class);
+
+    static {
+        for (UserList userList : values()) {
+            LOOKUP.computeIfAbsent(userList.mediaType, key -> new EnumMap<>(ListType.class))
+                    .put(userList.listType, userList);
+        }
+    }
+
+    // Variables
+    private final MediaType mediaType;
+    private final ListType listType;
+    private final String attributeName;
+    private final String tableName;
+    private final String columnName;
+
+    @Getter(AccessLevel.NONE)
+    private final Function<User, Set<ListItem>> accessor;
+
+    @Getter(AccessLevel.NONE)
+    private final BiConsumer<User, Long> adder;
+
+    @Getter(AccessLevel.NONE)
+    private final BiConsumer<User, Long> remover;
+
+    UserList(
+            MediaType mediaType,
+            ListType listType,
+            String attributeName,
+            String tableName,
+            String columnName,
+            Function<User, Set<ListItem>> accessor,
+            BiConsumer<User, Long> adder,
+            BiConsumer<User, Long> remover
+    ) {
+        this.mediaType = mediaType;
+        this.listType = listType;
+        this.attributeName = attributeName;
+        this.tableName = tableName;
+        this.columnName = columnName;
+        this.accessor = accessor;
+        this.adder = adder;
+        this.remover = remover;
+    }
+
+    public static UserList of(MediaType mediaType, ListType listType) {
+        return LOOKUP.get(mediaType).get(listType);
+    }
+
+    public int getBit() {
+        return 1 << ordinal();
+    }
+
+    // List Methods
+    public Set<ListItem> getItems(User user) {
+        return accessor.apply(user);
+    }
+
+    public boolean contains(User user, Long id) {
+        return accessor.apply(user).contains(new ListItem(id));
+    }
+
+    public void add(User user, Long id) {
+        adder.accept(user, id);
+    }
+
+    public void remove(User user, Long id) {
+        remover.accept(user, id);
+    }
+
+    // Messages
+    public String notAddedMessage(Long id) {
+        return mediaType.getLabel() + ": " + id + " is niet toegevoegd aan " + listType.getLabel();
+    }
+}
@@ -0,0 +1,18 @@
+package nl.dodo_en_kuik.backend.events;
+
+// Imports
+import lombok.Getter;
+import nl.dodo_en_kuik.backend.dtos.output.ListChangeDto;
+import java.util.List;
+
+@Getter
+public class UserListChangedEvent {
+    // Variables
+    private final String username;
+    private final List<ListChangeDto> changes;
+
+    public UserListChangedEvent(String username, List<ListChangeDto> changes) {
+        this.username = username;
+        this.changes = changes;
+    }
+}
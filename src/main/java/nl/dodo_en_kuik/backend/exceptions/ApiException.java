@@ -0,0 +1,20 @@
+package nl.dodo_en_kuik.backend.exceptions;
+
+// Imports
+import lombok.Getter;
+import nl.dodo_en_kuik.backend.enums.ErrorCode;
+import java.io.Serial;
+
+// Used for expected outcomes such as unknown ids, so no stack trace is captured
+@Getter
+public abstract class ApiException extends RuntimeException {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final ErrorCode code;
+
+    protected ApiException(ErrorCode code, String message) {
+        super(message, null, false, false);
+        this.code = code;
+    }
+}
@@ -1,17 +1,22 @@
 package nl.dodo_en_kuik.backend.exceptions;
 
 // Imports
+import nl.dodo_en_kuik.backend.enums.ErrorCode;
 import java.io.Serial;
 
-public class BadRequestException extends RuntimeException {
+public class BadRequestException extends ApiException {
     @Serial
     private static final long serialVersionUID = 1L;
 
     public BadRequestException() {
-        super();
+        super(ErrorCode.BAD_REQUEST, null);
     }
 
     public BadRequestException(String message) {
-        super(message);
+        super(ErrorCode.BAD_REQUEST, message);
+    }
+
+    public BadRequestException(ErrorCode code, String message) {
+        super(code, message);
     }
 }
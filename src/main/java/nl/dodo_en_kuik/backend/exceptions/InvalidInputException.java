@@ -1,17 +1,22 @@
 package nl.dodo_en_kuik.backend.exceptions;
 
 // Imports
+import nl.dodo_en_kuik.backend.enums.ErrorCode;
 import java.io.Serial;
 
-public class InvalidInputException extends RuntimeException {
+public class InvalidInputException extends ApiException {
     @Serial
     private static final long serialVersionUID = 1L;
 
     public InvalidInputException() {
-        super();
+        super(ErrorCode.INVALID_INPUT, null);
     }
 
     public InvalidInputException(String message) {
-        super(message);
+        super(ErrorCode.INVALID_INPUT, message);
+    }
+
+    public InvalidInputException(ErrorCode code, String message) {
+        super(code, message);
     }
 }
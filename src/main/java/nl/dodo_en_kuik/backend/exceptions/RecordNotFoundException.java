@@ -1,17 +1,22 @@
 package nl.dodo_en_kuik.backend.exceptions;
 
 // Imports
+import nl.dodo_en_kuik.backend.enums.ErrorCode;
 import java.io.Serial;
 
-public class RecordNotFoundException extends RuntimeException {
+public class RecordNotFoundException extends ApiException {
     @Serial
     private static final long serialVersionUID = 1L;
 
     public RecordNotFoundException() {
-        super();
+        super(ErrorCode.RECORD_NOT_FOUND, null);
     }
 
     public RecordNotFoundException(String message) {
-        super(message);
+        super(ErrorCode.RECORD_NOT_FOUND, message);
+    }
+
+    public RecordNotFoundException(ErrorCode code, String message) {
+        super(code, message);
     }
 }
@@ -0,0 +1,19 @@
+package nl.dodo_en_kuik.backend.exceptions;
+
+// Imports
+import lombok.Getter;
+import nl.dodo_en_kuik.backend.enums.ErrorCode;
+import java.io.Serial;
+
+@Getter
+public class TooManyRequestsException extends ApiException {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(long retryAfterSeconds) {
+        super(ErrorCode.TOO_MANY_REQUESTS, "Te veel verzoeken, probeer het over " + retryAfterSeconds + " seconden opnieuw");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -1,17 +1,18 @@
 package nl.dodo_en_kuik.backend.exceptions;
 
 // Imports
+import nl.dodo_en_kuik.backend.enums.ErrorCode;
 import java.io.Serial;
 
-public class UsernameNotFoundException extends RuntimeException {
+public class UsernameNotFoundException extends ApiException {
     @Serial
     private static final long serialVersionUID = 1L;
 
     public UsernameNotFoundException() {
-        super();
+        super(ErrorCode.USER_NOT_FOUND, null);
     }
 
     public UsernameNotFoundException(String username) {
-        super("Gebruiker: " + username + " niet gevonden");
+        super(ErrorCode.USER_NOT_FOUND, "Gebruiker: " + username + " niet gevonden");
     }
 }
@@ -0,0 +1,17 @@
+package nl.dodo_en_kuik.backend.helpers;
+
+// Imports
+import nl.dodo_en_kuik.backend.enums.ErrorCode;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+
+public class ProblemDetailHelper {
+    public static ProblemDetail toProblemDetail(HttpStatus status, ErrorCode code, String detail) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(status, detail);
+
+        problemDetail.setTitle(status.getReasonPhrase());
+        problemDetail.setProperty("code", code);
+
+        return problemDetail;
+    }
+}
@@ -0,0 +1,50 @@
+package nl.dodo_en_kuik.backend.helpers;
+
+// Imports
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Concurrent loads of the same key share one call of the loader; a key only lives as long as its load is in flight
+public class SingleFlight<K, V> {
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public V load(K key, Supplier<V> loader) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+
+        if (existing != null) {
+            return join(existing);
+        }
+
+        try {
+            V value = loader.get();
+            future.complete(value);
+
+            return value;
+        } catch (RuntimeException | Error exception) {
+            future.completeExceptionally(exception);
+
+            throw exception;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+
+            if (exception.getCause() instanceof Error cause) {
+                throw cause;
+            }
+
+            throw exception;
+        }
+    }
+}
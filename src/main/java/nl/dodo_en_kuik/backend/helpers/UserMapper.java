@@ -0,0 +1,70 @@
+package nl.dodo_en_kuik.backend.helpers;
+
+// Imports
+import nl.dodo_en_kuik.backend.dtos.input.UserInputDto;
+import nl.dodo_en_kuik.backend.dtos.output.ListItemDto;
+import nl.dodo_en_kuik.backend.dtos.output.UserDto;
+import nl.dodo_en_kuik.backend.models.ListItem;
+import nl.dodo_en_kuik.backend.models.User;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+public class UserMapper {
+    public static User toUser(UserInputDto inputDto, PasswordEncoder passwordEncoder) {
+        User user = new User();
+
+        user.setUsername(inputDto.getUsername().toUpperCase());
+        user.setPassword(passwordEncoder.encode(inputDto.getPassword()));
+        user.setEmail(inputDto.getEmail());
+
+        return user;
+    }
+
+    // The password is never copied: UserDto has no field for it.
+    // Collections are copied, so the DTO can be serialized after the transaction has ended.
+    public static UserDto toUserDto(User user) {
+        UserDto userDto = new UserDto();
+
+        userDto.setUsername(user.getUsername());
+        userDto.setEmail(user.getEmail());
+        userDto.setAuthorities(Collections.unmodifiableSet(new LinkedHashSet<>(user.getAuthorities())));
+
+        userDto.setFavoriteMovies(toOrderedIds(user.getFavoriteMovies()));
+        userDto.setWatchlistMovies(toOrderedIds(user.getWatchlistMovies()));
+        userDto.setWatchedMovies(toOrderedIds(user.getWatchedMovies()));
+
+        userDto.setFavoriteSeries(toOrderedIds(user.getFavoriteSeries()));
+        userDto.setWatchlistSeries(toOrderedIds(user.getWatchlistSeries()));
+        userDto.setWatchedSeries(toOrderedIds(user.getWatchedSeries()));
+
+        return userDto;
+    }
+
+    public static ListItemDto toListItemDto(ListItem listItem) {
+        ListItemDto listItemDto = new ListItemDto();
+
+        listItemDto.setId(listItem.getMediaId());
+        listItemDto.setAddedAt(listItem.getAddedAt());
+        listItemDto.setPosition(listItem.getPosition());
+
+        return listItemDto;
+    }
+
+    private static Set<Long> toOrderedIds(Set<ListItem> listItems) {
+        List<ListItem> sortedItems = new ArrayList<>(listItems);
+        sortedItems.sort(Comparator.comparing(ListItem::getPosition));
+
+        Set<Long> ids = new LinkedHashSet<>(sortedItems.size() * 2);
+
+        for (ListItem listItem : sortedItems) {
+            ids.add(listItem.getMediaId());
+        }
+
+        return Collections.unmodifiableSet(ids);
+    }
+}
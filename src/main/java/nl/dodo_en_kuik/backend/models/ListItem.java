@@ -0,0 +1,60 @@
+package nl.dodo_en_kuik.backend.models;
+
+// Imports
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.Getter;
+import lombok.Setter;
+import java.time.Instant;
+import java.util.Objects;
+
+@Getter
+@Setter
+@Embeddable
+public class ListItem {
+    // Positions are spaced out so an item can be moved between two others with a single-row update
+    public static final long POSITION_GAP = 1L << 20;
+
+    // Variables
+    @Column(nullable = false)
+    private Long mediaId;
+
+    @Column(name = "added_at", nullable = false)
+    private Instant addedAt;
+
+    @Column(name = "list_position", nullable = false)
+    private Long position;
+
+    // Constructors
+    public ListItem() {
+    }
+
+    public ListItem(Long mediaId) {
+        this.mediaId = mediaId;
+    }
+
+    public ListItem(Long mediaId, Instant addedAt, Long position) {
+        this.mediaId = mediaId;
+        this.addedAt = addedAt;
+        this.position = position;
+    }
+
+    // A list holds each media id once, regardless of when or where it was added
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        }
+
+        if (!(object instanceof ListItem listItem)) {
+            return false;
+        }
+
+        return Objects.equals(mediaId, listItem.mediaId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(mediaId);
+    }
+}
@@ -0,0 +1,46 @@
+package nl.dodo_en_kuik.backend.models;
+
+// Imports
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import java.time.Instant;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "refresh_tokens")
+public class RefreshToken {
+    // Variables
+    @Id
+    @Column(name = "token_hash")
+    private String tokenHash;
+
+    @Column(nullable = false)
+    private String username;
+
+    // All tokens rotated from the same login share a family
+    @Column(name = "family_id", nullable = false)
+    private String familyId;
+
+    @Column(name = "issued_at", nullable = false)
+    private Instant issuedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "used_at")
+    private Instant usedAt;
+
+    // Constructors
+    public RefreshToken() {
+    }
+
+    public RefreshToken(String tokenHash, String username, String familyId, Instant issuedAt, Instant expiresAt) {
+        this.tokenHash = tokenHash;
+        this.username = username;
+        this.familyId = familyId;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,35 @@
+package nl.dodo_en_kuik.backend.models;
+
+// Imports
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import java.time.Instant;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "revoked_tokens")
+public class RevokedToken {
+    // Variables
+    // Either the jti of a single token or "user:<USERNAME>" for every token issued before revoked_at
+    @Id
+    @Column(name = "token_id")
+    private String tokenId;
+
+    @Column(name = "revoked_at", nullable = false)
+    private Instant revokedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    // Constructors
+    public RevokedToken() {
+    }
+
+    public RevokedToken(String tokenId, Instant revokedAt, Instant expiresAt) {
+        this.tokenId = tokenId;
+        this.revokedAt = revokedAt;
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,27 @@
+package nl.dodo_en_kuik.backend.models;
+
+// Imports
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import nl.dodo_en_kuik.backend.enums.UserList;
+
+@Getter
+@Setter
+@Entity
+@IdClass(TitleStatKey.class)
+@Table(name = "title_stats")
+public class TitleStat {
+    // Variables
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "list_name", nullable = false)
+    private UserList list;
+
+    @Id
+    @Column(name = "media_id", nullable = false)
+    private Long mediaId;
+
+    @Column(name = "item_count", nullable = false)
+    private Long count;
+}
@@ -0,0 +1,13 @@
+package nl.dodo_en_kuik.backend.models;
+
+// Imports
+import lombok.EqualsAndHashCode;
+import nl.dodo_en_kuik.backend.enums.UserList;
+import java.io.Serializable;
+
+@EqualsAndHashCode
+public class TitleStatKey implements Serializable {
+    // Variables
+    private UserList list;
+    private Long mediaId;
+}
@@ -6,6 +6,8 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -25,6 +27,9 @@ public class User {
     @Column(nullable = false, unique = true)
     private String email;
 
+    @Column(name = "changes_compacted_through")
+    private Long changesCompactedThrough;
+
     // Relations
     @OneToMany(
             targetEntity = Authority.class,
@@ -40,48 +45,48 @@ public class User {
             name = "user_favorite_movies",
             joinColumns = @JoinColumn(name = "username")
     )
-    @Column(name = "movie_id")
-    private Set<Long> favoriteMovies = new HashSet<>();
+    @AttributeOverride(name = "mediaId", column = @Column(name = "movie_id", nullable = false))
+    private Set<ListItem> favoriteMovies = new HashSet<>();
 
     @ElementCollection
     @CollectionTable(
             name = "user_watchlist_movies",
             joinColumns = @JoinColumn(name = "username")
     )
-    @Column(name = "movie_id")
-    private Set<Long> watchlistMovies = new HashSet<>();
+    @AttributeOverride(name = "mediaId", column = @Column(name = "movie_id", nullable = false))
+    private Set<ListItem> watchlistMovies = new HashSet<>();
 
     @ElementCollection
     @CollectionTable(
             name = "user_watched_movies",
             joinColumns = @JoinColumn(name = "username")
     )
-    @Column(name = "movie_id")
-    private Set<Long> watchedMovies = new HashSet<>();
+    @AttributeOverride(name = "mediaId", column = @Column(name = "movie_id", nullable = false))
+    private Set<ListItem> watchedMovies = new HashSet<>();
 
     @ElementCollection
     @CollectionTable(
             name = "user_favorite_series",
             joinColumns = @JoinColumn(name = "username")
     )
-    @Column(name = "series_id")
-    private Set<Long> favoriteSeries = new HashSet<>();
+    @AttributeOverride(name = "mediaId", column = @Column(name = "series_id", nullable = false))
+    private Set<ListItem> favoriteSeries = new HashSet<>();
 
     @ElementCollection
     @CollectionTable(
             name = "user_watchlist_series",
             joinColumns = @JoinColumn(name = "username")
     )
-    @Column(name = "series_id")
-    private Set<Long> watchlistSeries = new HashSet<>();
+    @AttributeOverride(name = "mediaId", column = @Column(name = "series_id", nullable = false))
+    private Set<ListItem> watchlistSeries = new HashSet<>();
 
     @ElementCollection
     @CollectionTable(
             name = "user_watched_series",
             joinColumns = @JoinColumn(name = "username")
     )
-    @Column(name = "series_id")
-    private Set<Long> watchedSeries = new HashSet<>();
+    @AttributeOverride(name = "mediaId", column = @Column(name = "series_id", nullable = false))
+    private Set<ListItem> watchedSeries = new HashSet<>();
 
     // Authority Methods
     public void addAuthority(Authority authority) {
@@ -94,51 +99,62 @@ public class User {
 
     // Movie Methods
     public void addFavoriteMovie(Long favoriteMovie) {
-        this.favoriteMovies.add(favoriteMovie);
+        addListItem(this.favoriteMovies, favoriteMovie);
     }
 
     public void addWatchlistMovie(Long watchlistMovie) {
-        this.watchlistMovies.add(watchlistMovie);
+        addListItem(this.watchlistMovies, watchlistMovie);
     }
 
     public void addWatchedMovie(Long watchedMovie) {
-        this.watchedMovies.add(watchedMovie);
+        addListItem(this.watchedMovies, watchedMovie);
     }
 
     public void removeFavoriteMovie(Long favoriteMovie) {
-        this.favoriteMovies.remove(favoriteMovie);
+        this.favoriteMovies.remove(new ListItem(favoriteMovie));
     }
 
     public void removeWatchlistMovie(Long watchlistMovie) {
-        this.watchlistMovies.remove(watchlistMovie);
+        this.watchlistMovies.remove(new ListItem(watchlistMovie));
     }
 
     public void removeWatchedMovie(Long watchedMovie) {
-        this.watchedMovies.remove(watchedMovie);
+        this.watchedMovies.remove(new ListItem(watchedMovie));
     }
 
     // Series Methods
     public void addFavoriteSeries(Long favoriteSeries) {
-        this.favoriteSeries.add(favoriteSeries);
+        addListItem(this.favoriteSeries, favoriteSeries);
     }
 
     public void addWatchlistSeries(Long watchlistSeries) {
-        this.watchlistSeries.add(watchlistSeries);
+        addListItem(this.watchlistSeries, watchlistSeries);
     }
 
     public void addWatchedSeries(Long watchedSeries) {
-        this.watchedSeries.add(watchedSeries);
+        addListItem(this.watchedSeries, watchedSeries);
     }
 
     public void removeFavoriteSeries(Long favoriteSeries) {
-        this.favoriteSeries.remove(favoriteSeries);
+        this.favoriteSeries.remove(new ListItem(favoriteSeries));
     }
 
     public void removeWatchlistSeries(Long watchlistSeries) {
-        this.watchlistSeries.remove(watchlistSeries);
+        this.watchlistSeries.remove(new ListItem(watchlistSeries));
     }
 
     public void removeWatchedSeries(Long watchedSeries) {
-        this.watchedSeries.remove(watchedSeries);
+        this.watchedSeries.remove(new ListItem(watchedSeries));
+    }
+
+    // List Item Methods
+    private static void addListItem(Set<ListItem> items, Long mediaId) {
+        long position = ListItem.POSITION_GAP;
+
+        for (ListItem item : items) {
+            position = Math.max(position, item.getPosition() + ListItem.POSITION_GAP);
+        }
+
+        items.add(new ListItem(mediaId, Instant.now().truncatedTo(ChronoUnit.MICROS), position));
     }
 }
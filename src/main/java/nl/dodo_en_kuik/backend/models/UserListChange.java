@@ -0,0 +1,54 @@
+package nl.dodo_en_kuik.backend.models;
+
+// Imports
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import nl.dodo_en_kuik.backend.enums.ChangeOperation;
+import nl.dodo_en_kuik.backend.enums.UserList;
+import java.time.Instant;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "user_list_changes")
+public class UserListChange {
+    // Variables
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "seq")
+    private Long sequence;
+
+    @Column(nullable = false)
+    private String username;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "list_name", nullable = false)
+    private UserList list;
+
+    @Column(name = "media_id", nullable = false)
+    private Long mediaId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ChangeOperation operation;
+
+    @Column(name = "list_position")
+    private Long position;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+
+    // Constructors
+    public UserListChange() {
+    }
+
+    public UserListChange(String username, UserList list, Long mediaId, ChangeOperation operation, Long position) {
+        this.username = username;
+        this.list = list;
+        this.mediaId = mediaId;
+        this.operation = operation;
+        this.position = position;
+        this.changedAt = Instant.now();
+    }
+}
@@ -0,0 +1,26 @@
+package nl.dodo_en_kuik.backend.repositories;
+
+// Imports
+import nl.dodo_en_kuik.backend.models.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import java.time.Instant;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.usedAt = :usedAt WHERE t.tokenHash = :tokenHash AND t.usedAt IS NULL")
+    int markUsed(String tokenHash, Instant usedAt);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.familyId = :familyId")
+    int deleteAllByFamilyId(String familyId);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.username = :username")
+    int deleteAllByUsername(String username);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.expiresAt < :cutoff")
+    int deleteExpiredBefore(Instant cutoff);
+}
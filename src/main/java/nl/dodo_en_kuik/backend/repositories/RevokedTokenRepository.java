@@ -0,0 +1,14 @@
+package nl.dodo_en_kuik.backend.repositories;
+
+// Imports
+import nl.dodo_en_kuik.backend.models.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import java.time.Instant;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+    @Modifying
+    @Query("DELETE FROM RevokedToken t WHERE t.expiresAt < :cutoff")
+    int deleteExpiredBefore(Instant cutoff);
+}
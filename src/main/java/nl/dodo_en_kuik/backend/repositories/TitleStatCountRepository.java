@@ -0,0 +1,9 @@
+package nl.dodo_en_kuik.backend.repositories;
+
+// Imports
+import nl.dodo_en_kuik.backend.enums.UserList;
+import java.util.Map;
+
+public interface TitleStatCountRepository {
+    void addCounts(UserList list, Map<Long, Long> deltas);
+}
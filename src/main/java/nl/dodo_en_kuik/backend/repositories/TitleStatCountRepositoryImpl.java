@@ -0,0 +1,47 @@
+package nl.dodo_en_kuik.backend.repositories;
+
+// Imports
+import nl.dodo_en_kuik.backend.enums.UserList;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class TitleStatCountRepositoryImpl implements TitleStatCountRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    public TitleStatCountRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Upsert as one JDBC batch of updates plus one batch of inserts for the ids that had no row yet;
+    // ON CONFLICT DO UPDATE would be a single batch, but the H2 test database does not support it
+    @Override
+    public void addCounts(UserList list, Map<Long, Long> deltas) {
+        List<Object[]> updates = new ArrayList<>();
+
+        for (Map.Entry<Long, Long> delta : deltas.entrySet()) {
+            updates.add(new Object[]{delta.getValue(), list.name(), delta.getKey()});
+        }
+
+        int[] updated = jdbcTemplate.batchUpdate(
+                "UPDATE title_stats SET item_count = item_count + ? WHERE list_name = ? AND media_id = ?",
+                updates
+        );
+
+        List<Object[]> inserts = new ArrayList<>();
+
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                inserts.add(new Object[]{updates.get(i)[1], updates.get(i)[2], updates.get(i)[0]});
+            }
+        }
+
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO title_stats (list_name, media_id, item_count) VALUES (?, ?, ?)",
+                    inserts
+            );
+        }
+    }
+}
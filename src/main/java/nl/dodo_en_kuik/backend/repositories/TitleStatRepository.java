@@ -0,0 +1,13 @@
+package nl.dodo_en_kuik.backend.repositories;
+
+// Imports
+import nl.dodo_en_kuik.backend.enums.UserList;
+import nl.dodo_en_kuik.backend.models.TitleStat;
+import nl.dodo_en_kuik.backend.models.TitleStatKey;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.List;
+
+public interface TitleStatRepository extends JpaRepository<TitleStat, TitleStatKey>, TitleStatCountRepository {
+    List<TitleStat> findByListAndCountGreaterThanOrderByCountDescMediaIdAsc(UserList list, Long count, Limit limit);
+}
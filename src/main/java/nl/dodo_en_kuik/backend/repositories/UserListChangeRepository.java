@@ -0,0 +1,27 @@
+package nl.dodo_en_kuik.backend.repositories;
+
+// Imports
+import nl.dodo_en_kuik.backend.models.UserListChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import java.time.Instant;
+import java.util.List;
+
+public interface UserListChangeRepository extends JpaRepository<UserListChange, Long> {
+    List<UserListChange> findByUsernameAndSequenceGreaterThanOrderBySequenceAsc(
+            String username, Long sequence, Limit limit
+    );
+
+    @Query("SELECT MAX(c.sequence) FROM UserListChange c WHERE c.username = :username")
+    Long findLatestSequence(String username);
+
+    @Modifying
+    @Query("DELETE FROM UserListChange c WHERE c.changedAt < :cutoff")
+    int deleteChangedBefore(Instant cutoff);
+
+    @Modifying
+    @Query("DELETE FROM UserListChange c WHERE c.username = :username")
+    int deleteAllByUsername(String username);
+}
@@ -0,0 +1,37 @@
+package nl.dodo_en_kuik.backend.repositories;
+
+// Imports
+import nl.dodo_en_kuik.backend.enums.ListSort;
+import nl.dodo_en_kuik.backend.enums.UserList;
+import nl.dodo_en_kuik.backend.models.ListItem;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface UserListRepository {
+    Map<Long, Integer> findListStates(String username, Collection<Long> ids);
+
+    int insertIds(String username, UserList list, Collection<Long> ids);
+
+    int deleteIds(String username, UserList list, Collection<Long> ids);
+
+    List<ListItem> findItems(String username, UserList list, ListSort sort, int offset, int limit);
+
+    List<Long> findIdsByPosition(String username, UserList list);
+
+    ListItem findItem(String username, UserList list, Long id);
+
+    Long findFirstPositionAfter(String username, UserList list, Long position, Long excludedId);
+
+    int updatePosition(String username, UserList list, Long id, long position);
+
+    int createCounts(String username);
+
+    int adjustCount(String username, UserList list, long delta);
+
+    Map<UserList, Long> findCounts(String username);
+
+    int deleteCounts(String username);
+
+    int reconcileCounts(String username);
+}
@@ -0,0 +1,276 @@
+package nl.dodo_en_kuik.backend.repositories;
+
+// Imports
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import nl.dodo_en_kuik.backend.enums.ListSort;
+import nl.dodo_en_kuik.backend.enums.UserList;
+import nl.dodo_en_kuik.backend.models.ListItem;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class UserListRepositoryImpl implements UserListRepository {
+    // One UNION ALL over the six list tables, each branch served by its (username, id) primary key
+    private static final String LIST_STATES_QUERY = buildListStatesQuery();
+    private static final String CREATE_COUNTS_QUERY = buildCreateCountsQuery();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private static String buildListStatesQuery() {
+        StringBuilder query = new StringBuilder();
+
+        for (UserList list : UserList.values()) {
+            if (!query.isEmpty()) {
+                query.append(" UNION ALL ");
+            }
+
+            query.append("SELECT ").append(list.getColumnName()).append(", ").append(list.getBit())
+                    .append(" FROM ").append(list.getTableName())
+                    .append(" WHERE username = :username AND ").append(list.getColumnName()).append(" IN (:ids)");
+        }
+
+        return query.toString();
+    }
+
+    private static String buildCreateCountsQuery() {
+        StringBuilder query = new StringBuilder("INSERT INTO user_list_counters (username, list_name, item_count) VALUES ");
+
+        for (UserList list : UserList.values()) {
+            if (list.ordinal() > 0) {
+                query.append(", ");
+            }
+
+            query.append("(:username, '").append(list.name()).append("', 0)");
+        }
+
+        return query.toString();
+    }
+
+    @Override
+    public Map<Long, Integer> findListStates(String username, Collection<Long> ids) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery(LIST_STATES_QUERY)
+                .setParameter("username", username)
+                .setParameter("ids", ids)
+                .getResultList();
+
+        Map<Long, Integer> states = new HashMap<>();
+
+        for (Object[] row : rows) {
+            states.merge(((Number) row[0]).longValue(), ((Number) row[1]).intValue(), (a, b) -> a | b);
+        }
+
+        return states;
+    }
+
+    // Appends every id that is not on the list yet in one statement
+    @Override
+    public int insertIds(String username, UserList list, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        StringBuilder values = new StringBuilder();
+
+        for (int i = 1; i <= ids.size(); i++) {
+            if (i > 1) {
+                values.append(", ");
+            }
+
+            values.append("(CAST(?").append(i + 1).append(" AS BIGINT), ").append(i).append(")");
+        }
+
+        String table = list.getTableName();
+        String column = list.getColumnName();
+        Query query = entityManager.createNativeQuery(
+                "INSERT INTO " + table + " (username, " + column + ", added_at, list_position)"
+                        + " SELECT ?1, v.id, CURRENT_TIMESTAMP,"
+                        + " (SELECT COALESCE(MAX(list_position), 0) FROM " + table + " WHERE username = ?1)"
+                        + " + CAST(v.ord AS BIGINT) * " + ListItem.POSITION_GAP
+                        + " FROM (VALUES " + values + ") AS v(id, ord)"
+                        + " WHERE NOT EXISTS (SELECT 1 FROM " + table
+                        + " t WHERE t.username = ?1 AND t." + column + " = v.id)"
+        );
+
+        query.setParameter(1, username);
+
+        int position = 2;
+
+        for (Long id : ids) {
+            query.setParameter(position++, id);
+        }
+
+        return query.executeUpdate();
+    }
+
+    @Override
+    public int deleteIds(String username, UserList list, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        return entityManager.createNativeQuery(
+                        "DELETE FROM " + list.getTableName()
+                                + " WHERE username = :username AND " + list.getColumnName() + " IN (:ids)"
+                )
+                .setParameter("username", username)
+                .setParameter("ids", ids)
+                .executeUpdate();
+    }
+
+    @Override
+    public List<ListItem> findItems(String username, UserList list, ListSort sort, int offset, int limit) {
+        return entityManager.createQuery(
+                        "SELECT i FROM User u JOIN u." + list.getAttributeName() + " i"
+                                + " WHERE u.username = :username ORDER BY " + sort.getOrderBy(),
+                        ListItem.class
+                )
+                .setParameter("username", username)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<Long> findIdsByPosition(String username, UserList list) {
+        return entityManager.createQuery(
+                        "SELECT i.mediaId FROM User u JOIN u." + list.getAttributeName() + " i"
+                                + " WHERE u.username = :username ORDER BY i.position ASC",
+                        Long.class
+                )
+                .setParameter("username", username)
+                .getResultList();
+    }
+
+    @Override
+    public ListItem findItem(String username, UserList list, Long id) {
+        List<ListItem> items = entityManager.createQuery(
+                        "SELECT i FROM User u JOIN u." + list.getAttributeName() + " i"
+                                + " WHERE u.username = :username AND i.mediaId = :id",
+                        ListItem.class
+                )
+                .setParameter("username", username)
+                .setParameter("id", id)
+                .getResultList();
+
+        return items.isEmpty() ? null : items.get(0);
+    }
+
+    // Smallest position after the given one (or the first position when null), skipping the item being moved
+    @Override
+    public Long findFirstPositionAfter(String username, UserList list, Long position, Long excludedId) {
+        TypedQuery<Long> query = entityManager.createQuery(
+                        "SELECT MIN(i.position) FROM User u JOIN u." + list.getAttributeName() + " i"
+                                + " WHERE u.username = :username AND i.mediaId <> :excludedId"
+                                + (position == null ? "" : " AND i.position > :position"),
+                        Long.class
+                )
+                .setParameter("username", username)
+                .setParameter("excludedId", excludedId);
+
+        if (position != null) {
+            query.setParameter("position", position);
+        }
+
+        return query.getSingleResult();
+    }
+
+    @Override
+    public int updatePosition(String username, UserList list, Long id, long position) {
+        return entityManager.createNativeQuery(
+                        "UPDATE " + list.getTableName() + " SET list_position = :position"
+                                + " WHERE username = :username AND " + list.getColumnName() + " = :id"
+                )
+                .setParameter("position", position)
+                .setParameter("username", username)
+                .setParameter("id", id)
+                .executeUpdate();
+    }
+
+    // List Counter Methods
+    @Override
+    public int createCounts(String username) {
+        return entityManager.createNativeQuery(CREATE_COUNTS_QUERY)
+                .setParameter("username", username)
+                .executeUpdate();
+    }
+
+    @Override
+    public int adjustCount(String username, UserList list, long delta) {
+        if (delta == 0) {
+            return 0;
+        }
+
+        return entityManager.createNativeQuery(
+                        "UPDATE user_list_counters SET item_count = item_count + :delta"
+                                + " WHERE username = :username AND list_name = :listName"
+                )
+                .setParameter("delta", delta)
+                .setParameter("username", username)
+                .setParameter("listName", list.name())
+                .executeUpdate();
+    }
+
+    @Override
+    public Map<UserList, Long> findCounts(String username) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery(
+                        "SELECT list_name, item_count FROM user_list_counters WHERE username = :username"
+                )
+                .setParameter("username", username)
+                .getResultList();
+
+        Map<UserList, Long> counts = new EnumMap<>(UserList.class);
+
+        for (Object[] row : rows) {
+            counts.put(UserList.valueOf((String) row[0]), ((Number) row[1]).longValue());
+        }
+
+        return counts;
+    }
+
+    @Override
+    public int deleteCounts(String username) {
+        return entityManager.createNativeQuery("DELETE FROM user_list_counters WHERE username = :username")
+                .setParameter("username", username)
+                .executeUpdate();
+    }
+
+    // Adds missing counters of one user and corrects the ones that drifted from the actual list size;
+    // the caller holds the user lock, so no list write of the user can commit in between
+    @Override
+    public int reconcileCounts(String username) {
+        int repaired = 0;
+
+        for (UserList list : UserList.values()) {
+            String actualCount = "(SELECT COUNT(*) FROM " + list.getTableName() + " t WHERE t.username = :username)";
+
+            repaired += entityManager.createNativeQuery(
+                            "INSERT INTO user_list_counters (username, list_name, item_count)"
+                                    + " SELECT u.username, :listName, " + actualCount + " FROM users u"
+                                    + " WHERE u.username = :username AND NOT EXISTS (SELECT 1 FROM user_list_counters c"
+                                    + " WHERE c.username = u.username AND c.list_name = :listName)"
+                    )
+                    .setParameter("username", username)
+                    .setParameter("listName", list.name())
+                    .executeUpdate();
+
+            repaired += entityManager.createNativeQuery(
+                            "UPDATE user_list_counters c SET item_count = " + actualCount
+                                    + " WHERE c.username = :username AND c.list_name = :listName"
+                                    + " AND c.item_count <> " + actualCount
+                    )
+                    .setParameter("username", username)
+                    .setParameter("listName", list.name())
+                    .executeUpdate();
+        }
+
+        return repaired;
+    }
+}
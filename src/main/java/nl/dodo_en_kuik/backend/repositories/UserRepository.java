@@ -4,9 +4,33 @@ package nl.dodo_en_kuik.backend.repositories;
 import nl.dodo_en_kuik.backend.models.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 
-public interface UserRepository extends JpaRepository<User, String>, JpaSpecificationExecutor<User> {
+public interface UserRepository extends JpaRepository<User, String>, JpaSpecificationExecutor<User>, UserListRepository {
     boolean existsByUsernameIgnoreCase(String username);
 
     boolean existsByEmailIgnoreCase(String email);
-}
\ No newline at end of file
+
+    // Held until the transaction ends, see UserService.findUserForUpdate
+    @Query(value = "SELECT username FROM users WHERE username = :username FOR UPDATE", nativeQuery = true)
+    Optional<String> lockUser(String username);
+
+    @Query("SELECT u.username FROM User u ORDER BY u.username")
+    List<String> findAllUsernames();
+
+    @Query("SELECT u.changesCompactedThrough FROM User u WHERE u.username = :username")
+    Long findChangesCompactedThrough(String username);
+
+    // Remembers the newest change each user is about to lose, so clients behind it know to resync
+    @Modifying
+    @Query("UPDATE User u SET u.changesCompactedThrough = ("
+            + "SELECT MAX(c.sequence) FROM UserListChange c WHERE c.username = u.username AND c.changedAt < :cutoff"
+            + ") WHERE EXISTS ("
+            + "SELECT 1 FROM UserListChange c WHERE c.username = u.username AND c.changedAt < :cutoff"
+            + ")")
+    int markChangesCompactedBefore(Instant cutoff);
+}
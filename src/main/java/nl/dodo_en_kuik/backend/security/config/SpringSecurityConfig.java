@@ -1,6 +1,8 @@
 package nl.dodo_en_kuik.backend.security.config;
 
+import jakarta.servlet.DispatcherType;
 import nl.dodo_en_kuik.backend.security.filter.JwtRequestFilter;
+import nl.dodo_en_kuik.backend.security.filter.RateLimitFilter;
 import nl.dodo_en_kuik.backend.services.CustomUserDetailService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -22,13 +24,16 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SpringSecurityConfig {
     private final CustomUserDetailService customUserDetailService;
     private final JwtRequestFilter jwtRequestFilter;
+    private final RateLimitFilter rateLimitFilter;
 
     public SpringSecurityConfig(
             CustomUserDetailService customUserDetailService,
-            JwtRequestFilter jwtRequestFilter
+            JwtRequestFilter jwtRequestFilter,
+            RateLimitFilter rateLimitFilter
     ) {
         this.customUserDetailService = customUserDetailService;
         this.jwtRequestFilter = jwtRequestFilter;
+        this.rateLimitFilter = rateLimitFilter;
     }
 
     @Bean
@@ -51,6 +56,8 @@ public class SpringSecurityConfig {
                 .httpBasic(basic -> basic.disable())
                 .cors(Customizer.withDefaults())
                 .authorizeHttpRequests(auth -> auth
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         .requestMatchers(HttpMethod.GET, "/users").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.POST, "/users").hasRole("ADMIN")
 
@@ -65,13 +72,22 @@ public class SpringSecurityConfig {
                         .requestMatchers(HttpMethod.PUT, "/users/{username}/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.DELETE, "/users/{username}/**").hasRole("ADMIN")
 
+                        .requestMatchers(HttpMethod.GET, "/stats/**").hasAnyRole("ADMIN", "USER")
+
+                        .requestMatchers(HttpMethod.GET, "/actuator/health/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/actuator/**").hasRole("ADMIN")
+
                         .requestMatchers("/authenticated").authenticated()
+                        .requestMatchers(HttpMethod.POST, "/users/logout").authenticated()
                         .requestMatchers("/users/authenticate").permitAll()
+                        .requestMatchers("/users/refresh").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/.well-known/jwks.json").permitAll()
                         .requestMatchers("users/register").permitAll()
                         .anyRequest().denyAll()
                 )
                 .sessionManagement(sess -> sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
         http.addFilterBefore(jwtRequestFilter, UsernamePasswordAuthenticationFilter.class);
+        http.addFilterAfter(rateLimitFilter, JwtRequestFilter.class);
 
         return http.build();
     }
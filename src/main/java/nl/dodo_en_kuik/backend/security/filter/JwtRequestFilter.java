@@ -1,10 +1,12 @@
 package nl.dodo_en_kuik.backend.security.filter;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import nl.dodo_en_kuik.backend.services.CustomUserDetailService;
+import nl.dodo_en_kuik.backend.services.TokenRevocationService;
 import nl.dodo_en_kuik.backend.utils.JwtUtil;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -17,15 +19,15 @@ import java.io.IOException;
 
 @Component
 public class JwtRequestFilter extends OncePerRequestFilter {
-    private final CustomUserDetailService customUserDetailService;
     private final JwtUtil jwtUtil;
+    private final TokenRevocationService tokenRevocationService;
 
     public JwtRequestFilter(
-            CustomUserDetailService customUserDetailService,
-            JwtUtil jwtUtil
+            JwtUtil jwtUtil,
+            TokenRevocationService tokenRevocationService
     ) {
-        this.customUserDetailService = customUserDetailService;
         this.jwtUtil = jwtUtil;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @Override
@@ -37,25 +39,28 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwt = null;
+        UserDetails userDetails = null;
 
+        // Access tokens are short-lived and carry the authorities, so no database lookup is needed
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
-            username = jwtUtil.extractUsername(jwt);
-        }
-
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.customUserDetailService.loadUserByUsername(username);
+            try {
+                Claims claims = jwtUtil.parseToken(authorizationHeader.substring(7));
 
-            if (jwtUtil.validateToken(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities()
-                );
-                usernamePasswordAuthenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
+                if (!tokenRevocationService.isRevoked(claims)) {
+                    userDetails = jwtUtil.toUserDetails(claims);
+                }
+            } catch (JwtException | IllegalArgumentException exception) {
+                userDetails = null;
             }
         }
+
+        if (userDetails != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(
+                    userDetails, null, userDetails.getAuthorities()
+            );
+            usernamePasswordAuthenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
+        }
         filterChain.doFilter(request, response);
     }
 }
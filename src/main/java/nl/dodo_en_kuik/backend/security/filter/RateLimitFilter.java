@@ -0,0 +1,95 @@
+package nl.dodo_en_kuik.backend.security.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import nl.dodo_en_kuik.backend.exceptions.TooManyRequestsException;
+import nl.dodo_en_kuik.backend.security.ratelimit.RateLimitProperties;
+import nl.dodo_en_kuik.backend.security.ratelimit.RateLimiter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static nl.dodo_en_kuik.backend.helpers.ProblemDetailHelper.toProblemDetail;
+
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties rateLimitProperties;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(
+            RateLimiter rateLimiter,
+            RateLimitProperties rateLimitProperties,
+            ObjectMapper objectMapper
+    ) {
+        this.rateLimiter = rateLimiter;
+        this.rateLimitProperties = rateLimitProperties;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String method = request.getMethod();
+
+        if (!rateLimitProperties.isEnabled() || !path.startsWith("/users") || method.equals("GET")
+                || method.equals("OPTIONS") || method.equals("HEAD") || isReadOnlyPost(method, path)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long retryAfter;
+
+        if (path.equals("/users/authenticate") || path.equals("/users/refresh") || path.equals("/users/register")) {
+            retryAfter = rateLimiter.tryAcquire(
+                    "authentication:ip:" + request.getRemoteAddr(), rateLimitProperties.getAuthentication()
+            );
+        } else {
+            RateLimitProperties.Limit limit = rateLimitProperties.getMutation();
+            retryAfter = rateLimiter.tryAcquire("mutation:ip:" + request.getRemoteAddr(), limit);
+
+            // Runs after JwtRequestFilter: only a verified token is charged to a user's bucket, never the username in the path
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+            if (retryAfter == 0 && authentication != null && authentication.isAuthenticated()
+                    && !(authentication instanceof AnonymousAuthenticationToken)) {
+                retryAfter = rateLimiter.tryAcquire("mutation:user:" + authentication.getName().toUpperCase(), limit);
+            }
+        }
+
+        if (retryAfter > 0) {
+            TooManyRequestsException exception = new TooManyRequestsException(retryAfter);
+
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+            response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            objectMapper.writeValue(response.getWriter(), toProblemDetail(
+                    HttpStatus.TOO_MANY_REQUESTS, exception.getCode(), exception.getMessage()
+            ));
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    // POST only because the ids don't fit in a query string; clients call it on every page render
+    private static boolean isReadOnlyPost(String method, String path) {
+        return method.equals("POST") && path.startsWith("/users/auth/") && path.endsWith("/list-state");
+    }
+}
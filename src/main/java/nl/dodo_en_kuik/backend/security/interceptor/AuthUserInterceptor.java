@@ -0,0 +1,45 @@
+package nl.dodo_en_kuik.backend.security.interceptor;
+
+// Imports
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import nl.dodo_en_kuik.backend.enums.ErrorCode;
+import nl.dodo_en_kuik.backend.exceptions.BadRequestException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import java.util.Map;
+
+// Rejects /users/auth/{username}/** requests whose token belongs to another user
+@Component
+public class AuthUserInterceptor implements HandlerInterceptor {
+    // Stackless and immutable, so one instance can be thrown for every rejected request
+    private static final BadRequestException INVALID_TOKEN = new BadRequestException(
+            ErrorCode.INVALID_TOKEN, "Used token is not valid"
+    );
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Already checked on the initial dispatch of an async (event stream) request
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, String> pathVariables = (Map<String, String>) request.getAttribute(
+                HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE
+        );
+
+        String username = pathVariables == null ? null : pathVariables.get("username");
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (username == null || authentication == null || !authentication.getName().equals(username.toUpperCase())) {
+            throw INVALID_TOKEN;
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,212 @@
+package nl.dodo_en_kuik.backend.security.jwt;
+
+// Imports
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+// Keys are decoded into an immutable key set that is swapped as a whole when the keys file changes;
+// tokens are verified with the key named by their kid header
+@Component
+public class JwtKeyRing {
+    public static final String DEFAULT_KEY_ID = "default";
+    private static final Logger LOGGER = LoggerFactory.getLogger(JwtKeyRing.class);
+
+    private final JwtSigningProperties properties;
+    private volatile KeySet keySet;
+
+    // Fails startup when no usable key is configured, tokens are never signed with a built-in secret
+    public JwtKeyRing(JwtSigningProperties properties) {
+        this.properties = properties;
+        this.keySet = new KeySet(load());
+    }
+
+    // Reload
+    // A broken keys file is logged and ignored, the current keys stay in use until it is fixed
+    @Scheduled(fixedDelayString = "${jwt.signing.reload-interval:PT1M}")
+    public void reload() {
+        if (properties.getKeysFile() == null) {
+            return;
+        }
+
+        try {
+            keySet = new KeySet(load());
+        } catch (RuntimeException exception) {
+            LOGGER.error("JWT keys not reloaded from {}: {}", properties.getKeysFile(), exception.getMessage());
+        }
+    }
+
+    // Key Methods
+    // The id, algorithm and key are read from one key set, so a token is never signed with a mismatched kid
+    public SigningKey getSigningKey() {
+        return keySet.signingKey;
+    }
+
+    // Tokens issued before key ids were introduced have no kid and were signed with the default key
+    public Key getVerificationKey(String keyId) {
+        Key key = keySet.verificationKeys.get(keyId == null ? DEFAULT_KEY_ID : keyId);
+
+        if (key == null) {
+            throw new SignatureException("Unknown JWT key id: " + keyId);
+        }
+
+        return key;
+    }
+
+    // Only public keys are published, HMAC secrets never leave the application
+    public Map<String, Object> getJwks() {
+        return Map.of("keys", keySet.publicJwks);
+    }
+
+    // Helper Methods
+    // The keys file uses the same jwt.signing.* properties and replaces the keys from the application properties
+    private JwtSigningProperties load() {
+        if (properties.getKeysFile() == null) {
+            return properties;
+        }
+
+        Properties fileProperties = new Properties();
+
+        try (Reader reader = Files.newBufferedReader(Path.of(properties.getKeysFile()), StandardCharsets.UTF_8)) {
+            fileProperties.load(reader);
+        } catch (IOException exception) {
+            throw new IllegalStateException("Unreadable JWT keys file: " + properties.getKeysFile(), exception);
+        }
+
+        JwtSigningProperties loaded = new Binder(new MapConfigurationPropertySource(fileProperties))
+                .bind("jwt.signing", JwtSigningProperties.class)
+                .orElseThrow(() -> new IllegalStateException("No jwt.signing properties in " + properties.getKeysFile()));
+        loaded.setKeysFile(properties.getKeysFile());
+
+        return loaded;
+    }
+
+    private static Key decodeKey(String encodedKey, boolean privateKey) {
+        if (encodedKey == null) {
+            throw new IllegalStateException("Missing EC key");
+        }
+
+        try {
+            byte[] bytes = Base64.getDecoder().decode(encodedKey);
+            KeyFactory keyFactory = KeyFactory.getInstance("EC");
+
+            return privateKey
+                    ? keyFactory.generatePrivate(new PKCS8EncodedKeySpec(bytes))
+                    : keyFactory.generatePublic(new X509EncodedKeySpec(bytes));
+        } catch (GeneralSecurityException | IllegalArgumentException exception) {
+            throw new IllegalStateException("Invalid EC key", exception);
+        }
+    }
+
+    private static Map<String, Object> toJwk(String keyId, ECPublicKey publicKey) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+
+        jwk.put("kty", "EC");
+        jwk.put("crv", "P-256");
+        jwk.put("kid", keyId);
+        jwk.put("use", "sig");
+        jwk.put("alg", "ES256");
+        jwk.put("x", toCoordinate(publicKey.getW().getAffineX()));
+        jwk.put("y", toCoordinate(publicKey.getW().getAffineY()));
+
+        return jwk;
+    }
+
+    private static String toCoordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        byte[] coordinate = new byte[32];
+        int length = Math.min(bytes.length, 32);
+
+        System.arraycopy(bytes, bytes.length - length, coordinate, 32 - length, length);
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(coordinate);
+    }
+
+    @Getter
+    public static final class SigningKey {
+        private final String id;
+        private final SignatureAlgorithm algorithm;
+        private final Key key;
+
+        private SigningKey(String id, SignatureAlgorithm algorithm, Key key) {
+            this.id = id;
+            this.algorithm = algorithm;
+            this.key = key;
+        }
+    }
+
+    private static final class KeySet {
+        private final Map<String, Key> verificationKeys = new HashMap<>();
+        private final List<Map<String, Object>> publicJwks = new ArrayList<>();
+        private final SigningKey signingKey;
+
+        private KeySet(JwtSigningProperties properties) {
+            if (properties.getKeys().isEmpty()) {
+                throw new IllegalStateException("No JWT signing keys configured, set jwt.signing.keys");
+            }
+
+            SigningKey activeKey = null;
+
+            for (JwtSigningProperties.Key key : properties.getKeys()) {
+                SignatureAlgorithm algorithm = SignatureAlgorithm.forName(key.getAlgorithm());
+                boolean active = key.getId().equals(properties.getActiveKeyId());
+
+                if (algorithm == SignatureAlgorithm.HS256) {
+                    if (key.getSecret() == null || key.getSecret().isBlank()) {
+                        throw new IllegalStateException("Missing secret for JWT key: " + key.getId());
+                    }
+
+                    Key secretKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(key.getSecret()));
+                    verificationKeys.put(key.getId(), secretKey);
+
+                    if (active) {
+                        activeKey = new SigningKey(key.getId(), algorithm, secretKey);
+                    }
+                } else if (algorithm == SignatureAlgorithm.ES256) {
+                    ECPublicKey publicKey = (ECPublicKey) decodeKey(key.getPublicKey(), false);
+                    verificationKeys.put(key.getId(), publicKey);
+                    publicJwks.add(toJwk(key.getId(), publicKey));
+
+                    if (active) {
+                        activeKey = new SigningKey(key.getId(), algorithm, decodeKey(key.getPrivateKey(), true));
+                    }
+                } else {
+                    throw new IllegalStateException("Unsupported JWT algorithm: " + key.getAlgorithm());
+                }
+            }
+
+            if (activeKey == null) {
+                throw new IllegalStateException("No JWT signing key with id: " + properties.getActiveKeyId());
+            }
+
+            this.signingKey = activeKey;
+        }
+    }
+}
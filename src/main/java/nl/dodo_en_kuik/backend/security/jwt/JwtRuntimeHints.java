@@ -0,0 +1,35 @@
+package nl.dodo_en_kuik.backend.security.jwt;
+
+// Imports
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+// JJWT loads its implementation and the Jackson (de)serializer by class name, which a native image cannot see
+public class JwtRuntimeHints implements RuntimeHintsRegistrar {
+    private static final String[] REFLECTIVE_TYPES = {
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParser",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultClaims",
+            "io.jsonwebtoken.impl.DefaultHeader",
+            "io.jsonwebtoken.impl.DefaultJwsHeader",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+    };
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (String type : REFLECTIVE_TYPES) {
+            hints.reflection().registerType(
+                    TypeReference.of(type),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS
+            );
+        }
+
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.io.Serializer");
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.io.Deserializer");
+    }
+}
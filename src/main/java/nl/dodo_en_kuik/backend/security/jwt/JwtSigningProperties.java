@@ -0,0 +1,41 @@
+package nl.dodo_en_kuik.backend.security.jwt;
+
+// Imports
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "jwt.signing")
+public class JwtSigningProperties {
+    // Variables
+    private String activeKeyId = JwtKeyRing.DEFAULT_KEY_ID;
+
+    // Keys that are no longer active stay listed until the tokens they signed have expired
+    private List<Key> keys = new ArrayList<>();
+
+    // Optional properties file with the jwt.signing.* keys, re-read every jwt.signing.reload-interval so keys
+    // can be rotated without a restart
+    private String keysFile;
+
+    @Getter
+    @Setter
+    public static class Key {
+        private String id;
+
+        // HS256 or ES256
+        private String algorithm = "HS256";
+
+        // Base64, HS256 only
+        private String secret;
+
+        // Base64 PKCS#8 and X.509 encoded, ES256 only
+        private String privateKey;
+        private String publicKey;
+    }
+}
@@ -0,0 +1,39 @@
+package nl.dodo_en_kuik.backend.security.ratelimit;
+
+// Imports
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+    // Variables
+    private boolean enabled = true;
+
+    // POST /users/authenticate, /users/refresh and /users/register
+    private Limit authentication = new Limit(10, Duration.ofMinutes(1));
+
+    // PUT, POST, PATCH and DELETE on the other /users endpoints
+    private Limit mutation = new Limit(120, Duration.ofMinutes(1));
+
+    @Getter
+    @Setter
+    public static class Limit {
+        // Burst size; the bucket refills completely once per refill period
+        private int capacity;
+        private Duration refillPeriod;
+
+        public Limit() {
+        }
+
+        public Limit(int capacity, Duration refillPeriod) {
+            this.capacity = capacity;
+            this.refillPeriod = refillPeriod;
+        }
+    }
+}
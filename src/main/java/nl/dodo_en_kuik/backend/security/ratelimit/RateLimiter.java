@@ -0,0 +1,90 @@
+package nl.dodo_en_kuik.backend.security.ratelimit;
+
+// Imports
+import org.springframework.stereotype.Component;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// In-memory token buckets. Keys are spread over shards that each clean up their own idle buckets.
+@Component
+public class RateLimiter {
+    private static final int SHARD_COUNT = 16;
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Shard[] shards = new Shard[SHARD_COUNT];
+
+    public RateLimiter() {
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            shards[i] = new Shard();
+        }
+    }
+
+    // Returns 0 when the request may proceed, otherwise the number of seconds to wait
+    public long tryAcquire(String key, RateLimitProperties.Limit limit) {
+        long now = System.nanoTime();
+        long refillNanos = limit.getRefillPeriod().toNanos();
+        Shard shard = shards[(key.hashCode() & Integer.MAX_VALUE) % SHARD_COUNT];
+
+        shard.sweepIfDue(now);
+
+        Bucket bucket = shard.buckets.computeIfAbsent(key, k -> new Bucket(limit.getCapacity(), refillNanos, now));
+        long waitNanos = bucket.tryConsume(now);
+
+        return waitNanos == 0 ? 0 : Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+    }
+
+    private static class Shard {
+        private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+        private final AtomicLong nextSweep = new AtomicLong(System.nanoTime() + SWEEP_INTERVAL_NANOS);
+
+        // A bucket that has refilled completely behaves like a new one, so it can be dropped
+        private void sweepIfDue(long now) {
+            long due = nextSweep.get();
+
+            if (now - due < 0 || !nextSweep.compareAndSet(due, now + SWEEP_INTERVAL_NANOS)) {
+                return;
+            }
+
+            Iterator<Bucket> iterator = buckets.values().iterator();
+
+            while (iterator.hasNext()) {
+                if (iterator.next().isFull(now)) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    private static class Bucket {
+        private final int capacity;
+        private final double tokensPerNano;
+        private double tokens;
+        private long lastRefill;
+
+        private Bucket(int capacity, long refillNanos, long now) {
+            this.capacity = capacity;
+            this.tokensPerNano = capacity / (double) refillNanos;
+            this.tokens = capacity;
+            this.lastRefill = now;
+        }
+
+        private synchronized long tryConsume(long now) {
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+
+            return (long) Math.ceil((1 - tokens) / tokensPerNano);
+        }
+
+        private synchronized boolean isFull(long now) {
+            return tokens + (now - lastRefill) * tokensPerNano >= capacity;
+        }
+    }
+}
@@ -1,37 +1,63 @@
 package nl.dodo_en_kuik.backend.services;
 
 // Imports
-import nl.dodo_en_kuik.backend.dtos.output.UserDto;
+import nl.dodo_en_kuik.backend.exceptions.UsernameNotFoundException;
+import nl.dodo_en_kuik.backend.helpers.SingleFlight;
 import nl.dodo_en_kuik.backend.models.Authority;
+import nl.dodo_en_kuik.backend.models.User;
+import nl.dodo_en_kuik.backend.repositories.UserRepository;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
 @Service
 public class CustomUserDetailService implements UserDetailsService {
-    private final UserService userService;
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final SingleFlight<String, UserDetails> userDetailsLoads = new SingleFlight<>();
 
-    public CustomUserDetailService(UserService userService) {
-        this.userService = userService;
+    public CustomUserDetailService(
+            UserRepository userRepository,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.userRepository = userRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
+    // Every caller gets its own copy, Spring Security erases the password of the instance it authenticated
     @Override
     public UserDetails loadUserByUsername(String username) {
-        UserDto userDto = userService.getUser(username);
-        String password = userDto.getPassword();
+        String usernameUppercase = username.toUpperCase();
 
-        Set<Authority> authorities = userDto.getAuthorities();
+        UserDetails userDetails = userDetailsLoads.load(usernameUppercase, () -> readOnlyTransaction.execute(
+                status -> loadUser(usernameUppercase)
+        ));
+
+        return org.springframework.security.core.userdetails.User.withUserDetails(userDetails)
+                .username(username)
+                .build();
+    }
+
+    private UserDetails loadUser(String usernameUppercase) {
+        User user = userRepository.findById(usernameUppercase)
+                .orElseThrow(() -> new UsernameNotFoundException(usernameUppercase));
+        String password = user.getPassword();
+
+        Set<Authority> authorities = user.getAuthorities();
         List<GrantedAuthority> grantedAuthorities = new ArrayList<>();
 
         for (Authority authority : authorities) {
             grantedAuthorities.add((new SimpleGrantedAuthority(authority.getAuthority())));
         }
 
-        return new org.springframework.security.core.userdetails.User(username, password, grantedAuthorities);
+        return new org.springframework.security.core.userdetails.User(usernameUppercase, password, grantedAuthorities);
     }
 }
@@ -0,0 +1,117 @@
+package nl.dodo_en_kuik.backend.services;
+
+// Imports
+import nl.dodo_en_kuik.backend.enums.ErrorCode;
+import nl.dodo_en_kuik.backend.exceptions.BadRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+// Remembers the response of a request per Idempotency-Key, so a retried request returns it without doing the work again
+@Service
+public class IdempotencyService {
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    public IdempotencyService(
+            @Value("${idempotency.ttl:PT1H}") Duration ttl,
+            @Value("${idempotency.max-entries:10000}") int maxEntries
+    ) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String scope, String idempotencyKey, Object fingerprint, Supplier<T> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+
+        String key = scope + "|" + idempotencyKey;
+        long now = System.nanoTime();
+        Entry entry;
+        boolean owner = false;
+
+        synchronized (entries) {
+            evict(now);
+            entry = entries.get(key);
+
+            if (entry == null) {
+                entry = new Entry(fingerprint, now);
+                entries.put(key, entry);
+                owner = true;
+            }
+        }
+
+        if (!Objects.equals(entry.fingerprint, fingerprint)) {
+            throw new BadRequestException(
+                    ErrorCode.IDEMPOTENCY_KEY_REUSED, "Idempotency-Key is al gebruikt voor een ander verzoek"
+            );
+        }
+
+        if (!owner) {
+            try {
+                return (T) entry.result.join();
+            } catch (CompletionException exception) {
+                if (exception.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+
+                if (exception.getCause() instanceof Error cause) {
+                    throw cause;
+                }
+
+                throw exception;
+            }
+        }
+
+        try {
+            T result = action.get();
+            entry.result.complete(result);
+
+            return result;
+        } catch (RuntimeException | Error exception) {
+            // Failed requests are not remembered, a retry gets a fresh attempt; waiters are released with the same failure
+            synchronized (entries) {
+                entries.remove(key, entry);
+            }
+
+            entry.result.completeExceptionally(exception);
+            throw exception;
+        }
+    }
+
+    // Entries are kept in insertion order, so expired ones are always at the front
+    private void evict(long now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+
+            if (now - entry.createdAt < ttlNanos && entries.size() < maxEntries) {
+                return;
+            }
+
+            iterator.remove();
+        }
+    }
+
+    private static final class Entry {
+        private final Object fingerprint;
+        private final long createdAt;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        private Entry(Object fingerprint, long createdAt) {
+            this.fingerprint = fingerprint;
+            this.createdAt = createdAt;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package nl.dodo_en_kuik.backend.services;
+
+// Imports
+import nl.dodo_en_kuik.backend.dtos.output.ListChangeDto;
+import nl.dodo_en_kuik.backend.events.UserListChangedEvent;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Pushes committed list changes to every open event stream of the user that made them
+@Service
+public class ListChangeBroadcaster {
+    private static final Object HEARTBEAT = new Object();
+
+    private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final TaskExecutor taskExecutor;
+    private final Duration timeout;
+    private final int bufferSize;
+
+    public ListChangeBroadcaster(
+            @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+            @Value("${events.timeout:PT30M}") Duration timeout,
+            @Value("${events.buffer-size:64}") int bufferSize
+    ) {
+        this.taskExecutor = taskExecutor;
+        this.timeout = timeout;
+        this.bufferSize = bufferSize;
+    }
+
+    public SseEmitter subscribe(String username) {
+        String usernameUppercase = username.toUpperCase();
+        Subscriber subscriber = new Subscriber(new SseEmitter(timeout.toMillis()), bufferSize);
+
+        subscribers.computeIfAbsent(usernameUppercase, key -> ConcurrentHashMap.newKeySet()).add(subscriber);
+
+        Runnable unsubscribe = () -> unsubscribe(usernameUppercase, subscriber);
+        subscriber.emitter.onCompletion(unsubscribe);
+        subscriber.emitter.onTimeout(unsubscribe);
+        subscriber.emitter.onError(error -> unsubscribe.run());
+
+        return subscriber.emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserListChanged(UserListChangedEvent event) {
+        Set<Subscriber> userSubscribers = subscribers.get(event.getUsername());
+
+        if (userSubscribers == null) {
+            return;
+        }
+
+        for (Subscriber subscriber : userSubscribers) {
+            for (ListChangeDto change : event.getChanges()) {
+                subscriber.offer(change);
+            }
+
+            schedule(subscriber);
+        }
+    }
+
+    // Comment lines keep proxies from closing idle streams and reveal clients that went away
+    @Scheduled(fixedDelayString = "${events.heartbeat-interval:PT25S}")
+    public void sendHeartbeats() {
+        for (Set<Subscriber> userSubscribers : subscribers.values()) {
+            for (Subscriber subscriber : userSubscribers) {
+                subscriber.offer(HEARTBEAT);
+                schedule(subscriber);
+            }
+        }
+    }
+
+    private void unsubscribe(String username, Subscriber subscriber) {
+        subscriber.closed = true;
+
+        subscribers.computeIfPresent(username, (key, userSubscribers) -> {
+            userSubscribers.remove(subscriber);
+            return userSubscribers.isEmpty() ? null : userSubscribers;
+        });
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.sending.compareAndSet(false, true)) {
+            taskExecutor.execute(() -> send(subscriber));
+        }
+    }
+
+    private void send(Subscriber subscriber) {
+        try {
+            Object event;
+
+            while (!subscriber.closed && (event = subscriber.poll()) != null) {
+                if (event == HEARTBEAT) {
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    ListChangeDto change = (ListChangeDto) event;
+
+                    subscriber.emitter.send(SseEmitter.event()
+                            .id(String.valueOf(change.getSequence()))
+                            .name("list-change")
+                            .data(change));
+                }
+            }
+        } catch (IOException | IllegalStateException exception) {
+            subscriber.closed = true;
+            subscriber.emitter.completeWithError(exception);
+        } finally {
+            subscriber.sending.set(false);
+
+            if (!subscriber.closed && subscriber.hasPending()) {
+                schedule(subscriber);
+            }
+        }
+    }
+
+    // A slow client only ever costs bufferSize queued events: the oldest are dropped and the
+    // client notices the gap in event ids and catches up through the changes feed
+    private static class Subscriber {
+        private final SseEmitter emitter;
+        private final int bufferSize;
+        private final Deque<Object> buffer = new ArrayDeque<>();
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, int bufferSize) {
+            this.emitter = emitter;
+            this.bufferSize = bufferSize;
+        }
+
+        private synchronized void offer(Object event) {
+            if (buffer.size() >= bufferSize) {
+                buffer.pollFirst();
+            }
+
+            buffer.addLast(event);
+        }
+
+        private synchronized Object poll() {
+            return buffer.pollFirst();
+        }
+
+        private synchronized boolean hasPending() {
+            return !buffer.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package nl.dodo_en_kuik.backend.services;
+
+// Imports
+import nl.dodo_en_kuik.backend.enums.ErrorCode;
+import nl.dodo_en_kuik.backend.exceptions.BadRequestException;
+import nl.dodo_en_kuik.backend.models.RefreshToken;
+import nl.dodo_en_kuik.backend.repositories.RefreshTokenRepository;
+import nl.dodo_en_kuik.backend.security.payload.AuthenticationResponse;
+import nl.dodo_en_kuik.backend.utils.JwtUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+@Service
+public class RefreshTokenService {
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final CustomUserDetailService customUserDetailService;
+    private final JwtUtil jwtUtil;
+    private final Duration refreshTokenTtl;
+
+    public RefreshTokenService(
+            RefreshTokenRepository refreshTokenRepository,
+            CustomUserDetailService customUserDetailService,
+            JwtUtil jwtUtil,
+            @Value("${jwt.refresh-token-ttl:P14D}") Duration refreshTokenTtl
+    ) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.customUserDetailService = customUserDetailService;
+        this.jwtUtil = jwtUtil;
+        this.refreshTokenTtl = refreshTokenTtl;
+    }
+
+    // Token Methods
+    @Transactional
+    public AuthenticationResponse issueTokens(UserDetails userDetails) {
+        String refreshToken = createRefreshToken(userDetails.getUsername(), UUID.randomUUID().toString());
+
+        return new AuthenticationResponse(jwtUtil.generateToken(userDetails), refreshToken);
+    }
+
+    // A used token that is presented again means it leaked, so the whole family is revoked
+    @Transactional(noRollbackFor = BadRequestException.class)
+    public AuthenticationResponse refreshTokens(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            throw new BadRequestException(ErrorCode.INVALID_REFRESH_TOKEN, "Ongeldige refresh token");
+        }
+
+        String tokenHash = hash(refreshToken);
+        RefreshToken token = refreshTokenRepository.findById(tokenHash)
+                .orElseThrow(() -> new BadRequestException(ErrorCode.INVALID_REFRESH_TOKEN, "Ongeldige refresh token"));
+        Instant now = Instant.now();
+
+        if (token.getExpiresAt().isBefore(now)) {
+            refreshTokenRepository.delete(token);
+            throw new BadRequestException(ErrorCode.INVALID_REFRESH_TOKEN, "Refresh token is verlopen");
+        }
+
+        if (refreshTokenRepository.markUsed(tokenHash, now) == 0) {
+            refreshTokenRepository.deleteAllByFamilyId(token.getFamilyId());
+            throw new BadRequestException(ErrorCode.REFRESH_TOKEN_REUSED, "Refresh token is al gebruikt, log opnieuw in");
+        }
+
+        UserDetails userDetails = customUserDetailService.loadUserByUsername(token.getUsername());
+        String rotatedToken = createRefreshToken(token.getUsername(), token.getFamilyId());
+
+        return new AuthenticationResponse(jwtUtil.generateToken(userDetails), rotatedToken);
+    }
+
+    @Transactional
+    public void revokeTokenFamily(String refreshToken) {
+        refreshTokenRepository.findById(hash(refreshToken))
+                .ifPresent(token -> refreshTokenRepository.deleteAllByFamilyId(token.getFamilyId()));
+    }
+
+    @Transactional
+    public void deleteTokens(String username) {
+        refreshTokenRepository.deleteAllByUsername(username);
+    }
+
+    // Cleanup
+    @Scheduled(fixedDelayString = "${jwt.refresh-token-cleanup-interval:PT1H}")
+    @Transactional
+    public void deleteExpiredTokens() {
+        refreshTokenRepository.deleteExpiredBefore(Instant.now());
+    }
+
+    // Helper Methods
+    private String createRefreshToken(String username, String familyId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        Instant now = Instant.now();
+
+        refreshTokenRepository.save(
+                new RefreshToken(hash(refreshToken), username, familyId, now, now.plus(refreshTokenTtl))
+        );
+
+        return refreshToken;
+    }
+
+    private static String hash(String refreshToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(refreshToken.getBytes(StandardCharsets.UTF_8));
+
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package nl.dodo_en_kuik.backend.services;
+
+// Imports
+import jakarta.annotation.PreDestroy;
+import nl.dodo_en_kuik.backend.dtos.output.ListChangeDto;
+import nl.dodo_en_kuik.backend.dtos.output.TitleCountDto;
+import nl.dodo_en_kuik.backend.enums.ChangeOperation;
+import nl.dodo_en_kuik.backend.enums.UserList;
+import nl.dodo_en_kuik.backend.events.UserListChangedEvent;
+import nl.dodo_en_kuik.backend.exceptions.BadRequestException;
+import nl.dodo_en_kuik.backend.models.ListItem;
+import nl.dodo_en_kuik.backend.models.TitleStat;
+import nl.dodo_en_kuik.backend.models.User;
+import nl.dodo_en_kuik.backend.repositories.TitleStatRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Counts how many users have each id on each list. Committed changes only bump a LongAdder, the totals are written
+// to title_stats in batches and the most popular ids per list are kept in memory for the top endpoint
+@Service
+public class TitleStatsService {
+    private final TitleStatRepository titleStatRepository;
+    private final TransactionTemplate transaction;
+    private final int topSize;
+
+    private final Map<UserList, ConcurrentHashMap<Long, LongAdder>> pending = new EnumMap<>(UserList.class);
+    private volatile Map<UserList, List<TitleCountDto>> top = new EnumMap<>(UserList.class);
+
+    public TitleStatsService(
+            TitleStatRepository titleStatRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${title-stats.top-size:1000}") int topSize
+    ) {
+        this.titleStatRepository = titleStatRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.topSize = topSize;
+
+        for (UserList list : UserList.values()) {
+            pending.put(list, new ConcurrentHashMap<>());
+        }
+    }
+
+    // Record Methods
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserListChanged(UserListChangedEvent event) {
+        for (ListChangeDto change : event.getChanges()) {
+            if (change.getOperation() == ChangeOperation.ADD) {
+                record(UserList.of(change.getMediaType(), change.getListType()), change.getId(), 1);
+            } else if (change.getOperation() == ChangeOperation.REMOVE) {
+                record(UserList.of(change.getMediaType(), change.getListType()), change.getId(), -1);
+            }
+        }
+    }
+
+    // A deleted user leaves no change events behind, so the lists are counted down once the delete commits
+    public void recordDeletedUser(User user) {
+        Map<UserList, List<Long>> removedIds = new EnumMap<>(UserList.class);
+
+        for (UserList list : UserList.values()) {
+            List<Long> ids = new ArrayList<>();
+
+            for (ListItem listItem : list.getItems(user)) {
+                ids.add(listItem.getMediaId());
+            }
+
+            removedIds.put(list, ids);
+        }
+
+        Runnable countDown = () -> removedIds.forEach((list, ids) -> ids.forEach(id -> record(list, id, -1)));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    countDown.run();
+                }
+            });
+        } else {
+            countDown.run();
+        }
+    }
+
+    // Added under the map's lock for the id, so a flush can never drop a counter between its lookup and this add
+    private void record(UserList list, Long id, long delta) {
+        pending.get(list).compute(id, (key, counter) -> {
+            LongAdder adder = counter == null ? new LongAdder() : counter;
+            adder.add(delta);
+
+            return adder;
+        });
+    }
+
+    // Flush Methods
+    // Only what was written is subtracted again, so increments that arrive during a flush are kept for the next one;
+    // counters that end up at zero are removed, otherwise every id ever counted would stay in memory
+    @Scheduled(fixedDelayString = "${title-stats.flush-interval:PT10S}")
+    @PreDestroy
+    public void flushCounts() {
+        Map<UserList, Map<Long, Long>> deltas = new EnumMap<>(UserList.class);
+
+        pending.forEach((list, counters) -> counters.forEach((id, counter) -> {
+            long delta = counter.sum();
+
+            if (delta != 0) {
+                deltas.computeIfAbsent(list, key -> new HashMap<>()).put(id, delta);
+            }
+        }));
+
+        if (!deltas.isEmpty()) {
+            transaction.executeWithoutResult(status -> deltas.forEach(titleStatRepository::addCounts));
+
+            deltas.forEach((list, listDeltas) -> listDeltas.forEach(
+                    (id, delta) -> pending.get(list).computeIfPresent(id, (key, counter) -> {
+                        counter.add(-delta);
+
+                        return counter.sum() == 0 ? null : counter;
+                    })
+            ));
+        }
+
+        if (!deltas.isEmpty() || top.isEmpty()) {
+            refreshTop();
+        }
+    }
+
+    private void refreshTop() {
+        Map<UserList, List<TitleCountDto>> newTop = new EnumMap<>(UserList.class);
+
+        for (UserList list : UserList.values()) {
+            List<TitleCountDto> titleCountDtos = new ArrayList<>();
+
+            for (TitleStat titleStat : titleStatRepository.findByListAndCountGreaterThanOrderByCountDescMediaIdAsc(
+                    list, 0L, Limit.of(topSize)
+            )) {
+                TitleCountDto titleCountDto = new TitleCountDto();
+                titleCountDto.setId(titleStat.getMediaId());
+                titleCountDto.setCount(titleStat.getCount());
+                titleCountDtos.add(titleCountDto);
+            }
+
+            newTop.put(list, List.copyOf(titleCountDtos));
+        }
+
+        top = newTop;
+    }
+
+    // Top Methods
+    public List<TitleCountDto> getTop(UserList list, int limit) {
+        if (limit < 1 || limit > topSize) {
+            throw new BadRequestException("Limit moet tussen 1 en " + topSize + " liggen");
+        }
+
+        List<TitleCountDto> listTop = top.getOrDefault(list, List.of());
+
+        return listTop.subList(0, Math.min(limit, listTop.size()));
+    }
+}
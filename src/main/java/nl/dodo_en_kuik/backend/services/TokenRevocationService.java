@@ -0,0 +1,154 @@
+package nl.dodo_en_kuik.backend.services;
+
+// Imports
+import io.jsonwebtoken.Claims;
+import nl.dodo_en_kuik.backend.helpers.BloomFilter;
+import nl.dodo_en_kuik.backend.models.RevokedToken;
+import nl.dodo_en_kuik.backend.repositories.RevokedTokenRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Revocations are persisted, but checked against an in-memory snapshot that is rebuilt from the table
+@Service
+public class TokenRevocationService {
+    private static final String USER_PREFIX = "user:";
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int MIN_CAPACITY = 1024;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final Duration accessTokenTtl;
+
+    private volatile Snapshot snapshot = new Snapshot(Map.of());
+
+    public TokenRevocationService(
+            RevokedTokenRepository revokedTokenRepository,
+            @Value("${jwt.access-token-ttl:PT15M}") Duration accessTokenTtl
+    ) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.accessTokenTtl = accessTokenTtl;
+    }
+
+    // Check Methods
+    public boolean isRevoked(Claims claims) {
+        Snapshot current = snapshot;
+        String tokenId = claims.getId();
+
+        if (tokenId != null && current.bloomFilter.mightContain(tokenId) && current.entries.containsKey(tokenId)) {
+            return true;
+        }
+
+        String userKey = USER_PREFIX + claims.getSubject();
+
+        if (!current.bloomFilter.mightContain(userKey)) {
+            return false;
+        }
+
+        Entry entry = current.entries.get(userKey);
+
+        // iat only has second precision, so a token issued later in the revocation second must stay valid
+        return entry != null && claims.getIssuedAt().toInstant().isBefore(entry.revokedAt.truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    // Revoke Methods
+    @Transactional
+    public void revokeToken(Claims claims) {
+        if (claims.getId() != null) {
+            revoke(claims.getId(), claims.getExpiration().toInstant());
+        }
+    }
+
+    // Revokes every access token of the user that was issued up to now
+    @Transactional
+    public void revokeUser(String username) {
+        revoke(USER_PREFIX + username.toUpperCase(), Instant.now().plus(accessTokenTtl));
+    }
+
+    private void revoke(String tokenId, Instant expiresAt) {
+        RevokedToken revokedToken = revokedTokenRepository.save(new RevokedToken(tokenId, Instant.now(), expiresAt));
+        Entry entry = new Entry(revokedToken.getRevokedAt(), revokedToken.getExpiresAt());
+
+        // Only a committed revocation is published, a rolled back one would otherwise reject tokens until the next rebuild
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(tokenId, entry);
+                }
+            });
+        } else {
+            publish(tokenId, entry);
+        }
+    }
+
+    private synchronized void publish(String tokenId, Entry entry) {
+        snapshot.add(tokenId, entry);
+    }
+
+    // Rebuild
+    @Scheduled(fixedDelayString = "${jwt.revocation-refresh-interval:PT30S}")
+    @Transactional
+    public void rebuild() {
+        Instant now = Instant.now();
+
+        revokedTokenRepository.deleteExpiredBefore(now);
+        List<RevokedToken> revokedTokens = revokedTokenRepository.findAll();
+
+        Map<String, Entry> entries = new HashMap<>();
+
+        for (RevokedToken revokedToken : revokedTokens) {
+            entries.put(revokedToken.getTokenId(), new Entry(revokedToken.getRevokedAt(), revokedToken.getExpiresAt()));
+        }
+
+        // Keep revocations published on this instance while the table was read
+        synchronized (this) {
+            snapshot.entries.forEach((tokenId, entry) -> {
+                if (entry.expiresAt.isAfter(now)) {
+                    entries.putIfAbsent(tokenId, entry);
+                }
+            });
+
+            snapshot = new Snapshot(entries);
+        }
+    }
+
+    private static final class Snapshot {
+        private final Map<String, Entry> entries;
+        private final BloomFilter bloomFilter;
+
+        private Snapshot(Map<String, Entry> entries) {
+            this.entries = new ConcurrentHashMap<>(entries);
+            this.bloomFilter = new BloomFilter(Math.max(MIN_CAPACITY, entries.size() * 2), FALSE_POSITIVE_RATE);
+
+            for (String tokenId : entries.keySet()) {
+                bloomFilter.add(tokenId);
+            }
+        }
+
+        // The exact entry is added first so a bloom filter hit always finds it
+        private void add(String tokenId, Entry entry) {
+            entries.put(tokenId, entry);
+            bloomFilter.add(tokenId);
+        }
+    }
+
+    private static final class Entry {
+        private final Instant revokedAt;
+        private final Instant expiresAt;
+
+        private Entry(Instant revokedAt, Instant expiresAt) {
+            this.revokedAt = revokedAt;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package nl.dodo_en_kuik.backend.services;
+
+// Imports
+import nl.dodo_en_kuik.backend.dtos.output.ChangeFeedDto;
+import nl.dodo_en_kuik.backend.dtos.output.ListChangeDto;
+import nl.dodo_en_kuik.backend.enums.ChangeOperation;
+import nl.dodo_en_kuik.backend.enums.UserList;
+import nl.dodo_en_kuik.backend.events.UserListChangedEvent;
+import nl.dodo_en_kuik.backend.exceptions.BadRequestException;
+import nl.dodo_en_kuik.backend.models.UserListChange;
+import nl.dodo_en_kuik.backend.repositories.UserListChangeRepository;
+import nl.dodo_en_kuik.backend.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@Service
+public class UserListChangeService {
+    private final UserListChangeRepository userListChangeRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration retention;
+
+    public UserListChangeService(
+            UserListChangeRepository userListChangeRepository,
+            UserRepository userRepository,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${changes.retention:P30D}") Duration retention
+    ) {
+        this.userListChangeRepository = userListChangeRepository;
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.retention = retention;
+    }
+
+    // Transfer Methods
+    public ListChangeDto changeToDto(UserListChange change) {
+        ListChangeDto changeDto = new ListChangeDto();
+
+        changeDto.setSequence(change.getSequence());
+        changeDto.setMediaType(change.getList().getMediaType());
+        changeDto.setListType(change.getList().getListType());
+        changeDto.setId(change.getMediaId());
+        changeDto.setOperation(change.getOperation());
+        changeDto.setPosition(change.getPosition());
+        changeDto.setChangedAt(change.getChangedAt());
+
+        return changeDto;
+    }
+
+    // Record Methods
+    @Transactional
+    public void recordChanges(String username, UserList list, Collection<Long> ids, ChangeOperation operation) {
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        List<UserListChange> changes = new ArrayList<>();
+
+        for (Long id : ids) {
+            changes.add(new UserListChange(username, list, id, operation, null));
+        }
+
+        publishChanges(username, userListChangeRepository.saveAll(changes));
+    }
+
+    // Saved in the given order, so replaying the feed ends in the same state
+    @Transactional
+    public void recordChanges(String username, List<UserListChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        publishChanges(username, userListChangeRepository.saveAll(changes));
+    }
+
+    @Transactional
+    public void recordReorder(String username, UserList list, Long id, Long position) {
+        UserListChange change = new UserListChange(username, list, id, ChangeOperation.REORDER, position);
+
+        publishChanges(username, List.of(userListChangeRepository.save(change)));
+    }
+
+    // Delivered to open event streams once the surrounding transaction commits
+    private void publishChanges(String username, List<UserListChange> changes) {
+        List<ListChangeDto> changeDtos = new ArrayList<>();
+
+        for (UserListChange change : changes) {
+            changeDtos.add(changeToDto(change));
+        }
+
+        eventPublisher.publishEvent(new UserListChangedEvent(username, changeDtos));
+    }
+
+    // Feed Methods
+    @Transactional(readOnly = true)
+    public ChangeFeedDto getChanges(String username, long since, int limit) {
+        if (since < 0 || limit < 1 || limit > 500) {
+            throw new BadRequestException("Since moet 0 of hoger zijn en limit tussen 1 en 500");
+        }
+
+        String usernameUppercase = username.toUpperCase();
+        ChangeFeedDto feedDto = new ChangeFeedDto();
+        List<ListChangeDto> changeDtos = new ArrayList<>();
+
+        Long compactedThrough = userRepository.findChangesCompactedThrough(usernameUppercase);
+
+        if (compactedThrough != null && since < compactedThrough) {
+            Long latestSequence = userListChangeRepository.findLatestSequence(usernameUppercase);
+
+            feedDto.setResyncRequired(true);
+            feedDto.setChanges(changeDtos);
+            feedDto.setLatestSequence(latestSequence != null ? latestSequence : compactedThrough);
+
+            return feedDto;
+        }
+
+        List<UserListChange> changes = userListChangeRepository.findByUsernameAndSequenceGreaterThanOrderBySequenceAsc(
+                usernameUppercase, since, Limit.of(limit + 1)
+        );
+
+        for (UserListChange change : changes) {
+            if (changeDtos.size() == limit) {
+                feedDto.setHasMore(true);
+                break;
+            }
+
+            changeDtos.add(changeToDto(change));
+        }
+
+        feedDto.setChanges(changeDtos);
+        feedDto.setLatestSequence(changeDtos.isEmpty() ? since : changeDtos.get(changeDtos.size() - 1).getSequence());
+
+        return feedDto;
+    }
+
+    @Transactional
+    public void deleteChanges(String username) {
+        userListChangeRepository.deleteAllByUsername(username);
+    }
+
+    // Compaction
+    @Scheduled(fixedDelayString = "${changes.compaction-interval:PT1H}")
+    @Transactional
+    public void compactChanges() {
+        Instant cutoff = Instant.now().minus(retention);
+
+        userRepository.markChangesCompactedBefore(cutoff);
+        userListChangeRepository.deleteChangedBefore(cutoff);
+    }
+}
@@ -2,57 +2,91 @@ package nl.dodo_en_kuik.backend.services;
 
 // Imports
 
+import nl.dodo_en_kuik.backend.dtos.input.BatchOperationInputDto;
 import nl.dodo_en_kuik.backend.dtos.input.UserInputDto;
+import nl.dodo_en_kuik.backend.dtos.output.BatchOperationResultDto;
+import nl.dodo_en_kuik.backend.dtos.output.BatchResultDto;
+import nl.dodo_en_kuik.backend.dtos.output.ListItemDto;
 import nl.dodo_en_kuik.backend.dtos.output.UserDto;
+import nl.dodo_en_kuik.backend.enums.ChangeOperation;
+import nl.dodo_en_kuik.backend.enums.ErrorCode;
+import nl.dodo_en_kuik.backend.enums.ListSort;
+import nl.dodo_en_kuik.backend.enums.UserList;
 import nl.dodo_en_kuik.backend.exceptions.BadRequestException;
 import nl.dodo_en_kuik.backend.exceptions.InvalidInputException;
-import nl.dodo_en_kuik.backend.exceptions.RecordNotFoundException;
 import nl.dodo_en_kuik.backend.exceptions.UsernameNotFoundException;
+import nl.dodo_en_kuik.backend.helpers.SingleFlight;
 import nl.dodo_en_kuik.backend.models.Authority;
+import nl.dodo_en_kuik.backend.models.ListItem;
 import nl.dodo_en_kuik.backend.models.User;
+import nl.dodo_en_kuik.backend.models.UserListChange;
 import nl.dodo_en_kuik.backend.repositories.AuthorityRepository;
 import nl.dodo_en_kuik.backend.repositories.UserRepository;
 import nl.dodo_en_kuik.backend.specifications.UserSpecification;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLongArray;
 
-import static nl.dodo_en_kuik.backend.helpers.CopyProperties.copyProperties;
+import static nl.dodo_en_kuik.backend.helpers.UserMapper.toListItemDto;
+import static nl.dodo_en_kuik.backend.helpers.UserMapper.toUser;
+import static nl.dodo_en_kuik.backend.helpers.UserMapper.toUserDto;
 import static nl.dodo_en_kuik.backend.security.config.SpringSecurityConfig.passwordEncoder;
 
 @Service
 public class UserService {
+    private static final int USER_VERSION_STRIPES = 1024;
+
     private final UserRepository userRepository;
     private final AuthorityRepository authorityRepository;
+    private final UserListChangeService userListChangeService;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final TitleStatsService titleStatsService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate transaction;
+    private final SingleFlight<Map.Entry<String, Long>, UserDto> userLoads = new SingleFlight<>();
+
+    // Bumped after every committed change of a user on this instance; users that share a stripe only reload more often
+    private final AtomicLongArray userVersions = new AtomicLongArray(USER_VERSION_STRIPES);
 
     public UserService(
             UserRepository userRepository,
-            AuthorityRepository authorityRepository
+            AuthorityRepository authorityRepository,
+            UserListChangeService userListChangeService,
+            RefreshTokenService refreshTokenService,
+            TokenRevocationService tokenRevocationService,
+            TitleStatsService titleStatsService,
+            PlatformTransactionManager transactionManager
     ) {
         this.userRepository = userRepository;
         this.authorityRepository = authorityRepository;
+        this.userListChangeService = userListChangeService;
+        this.refreshTokenService = refreshTokenService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.titleStatsService = titleStatsService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.transaction = new TransactionTemplate(transactionManager);
     }
 
     // Transfer Methods
     public User dtoToUser(UserInputDto inputDto) {
-        User user = new User();
-
-        user.setUsername(inputDto.getUsername().toUpperCase());
-        user.setPassword(passwordEncoder().encode(inputDto.getPassword()));
-        user.setEmail(inputDto.getEmail());
-
-        return user;
+        return toUser(inputDto, passwordEncoder());
     }
 
     public UserDto userToDto(User user) {
-        UserDto userDto = new UserDto();
-
-        copyProperties(user, userDto);
-
-        return userDto;
+        return toUserDto(user);
     }
 
     // CRUD Methods
+    @Transactional(readOnly = true)
     public List<UserDto> getUsers() {
         List<User> users = userRepository.findAll();
         List<UserDto> userDtos = new ArrayList<>();
@@ -62,23 +96,27 @@ public class UserService {
             userDtos.add(userDto);
         }
 
-        if (userDtos.isEmpty()) {
-            throw new RecordNotFoundException("No users found");
-        } else {
-            userDtos.sort(Comparator.comparing(UserDto::getUsername));
-            return userDtos;
-        }
+        userDtos.sort(Comparator.comparing(UserDto::getUsername));
+
+        return userDtos;
     }
 
+    // Parallel requests for the same user share one load; the transaction is only opened by the loading thread.
+    // A load is only shared while no change of the user has committed on this instance since it started, so a read
+    // that follows a write through this instance never gets a result loaded before that write
     public UserDto getUser(String username) {
         String usernameUppercase = username.toUpperCase();
+        Map.Entry<String, Long> key = Map.entry(usernameUppercase, userVersions.get(versionStripe(usernameUppercase)));
 
-        User user = userRepository.findById(usernameUppercase)
-                .orElseThrow(() -> new UsernameNotFoundException(usernameUppercase));
+        return userLoads.load(key, () -> readOnlyTransaction.execute(status -> {
+            User user = userRepository.findById(usernameUppercase)
+                    .orElseThrow(() -> new UsernameNotFoundException(usernameUppercase));
 
-        return userToDto(user);
+            return userToDto(user);
+        }));
     }
 
+    @Transactional(readOnly = true)
     public List<UserDto> getUsersByFilter(
             String username,
             String email
@@ -93,14 +131,12 @@ public class UserService {
             userDtos.add(userDto);
         }
 
-        if (userDtos.isEmpty()) {
-            throw new RecordNotFoundException("No users found with the specified filters");
-        } else {
-            userDtos.sort(Comparator.comparing(UserDto::getUsername));
-            return userDtos;
-        }
+        userDtos.sort(Comparator.comparing(UserDto::getUsername));
+
+        return userDtos;
     }
 
+    @Transactional
     public UserDto createUser(UserInputDto inputDto) {
         User user = dtoToUser(inputDto);
 
@@ -108,19 +144,22 @@ public class UserService {
         boolean emailExists = userRepository.existsByEmailIgnoreCase(inputDto.getEmail());
 
         if (usernameExists && emailExists) {
-            throw new InvalidInputException("Gebruikersnaam en emailadres zijn al in gebruik");
+            throw new InvalidInputException(ErrorCode.USER_ALREADY_EXISTS, "Gebruikersnaam en emailadres zijn al in gebruik");
         } else if (usernameExists) {
-            throw new InvalidInputException("Gebruikersnaam is al in gebruik");
+            throw new InvalidInputException(ErrorCode.USER_ALREADY_EXISTS, "Gebruikersnaam is al in gebruik");
         } else if (emailExists) {
-            throw new InvalidInputException("Email adres is al in gebruik");
+            throw new InvalidInputException(ErrorCode.USER_ALREADY_EXISTS, "Email adres is al in gebruik");
         } else {
             user.addAuthority(new Authority(user.getUsername(), "ROLE_USER"));
             userRepository.save(user);
+            userRepository.createCounts(user.getUsername());
+            markChanged(user.getUsername());
 
             return userToDto(user);
         }
     }
 
+    @Transactional
     public String deleteUser(String username) {
         String usernameUppercase = username.toUpperCase();
 
@@ -131,12 +170,19 @@ public class UserService {
             throw new BadRequestException("Can't remove user: " + user.getUsername().toUpperCase());
         }
 
+        markChanged(usernameUppercase);
+        titleStatsService.recordDeletedUser(user);
+        userRepository.deleteCounts(usernameUppercase);
         userRepository.deleteById(usernameUppercase);
+        userListChangeService.deleteChanges(usernameUppercase);
+        refreshTokenService.deleteTokens(usernameUppercase);
+        tokenRevocationService.revokeUser(usernameUppercase);
 
         return "User: " + usernameUppercase + " is deleted";
     }
 
     // Relation - Authorities Methods
+    @Transactional(readOnly = true)
     public Set<Authority> getUserAuthorities(String username) {
         String usernameUppercase = username.toUpperCase();
 
@@ -148,6 +194,7 @@ public class UserService {
         return userDto.getAuthorities();
     }
 
+    @Transactional
     public UserDto assignAuthorityToUser(String username, String authority) {
         String usernameUppercase = username.toUpperCase();
 
@@ -161,6 +208,7 @@ public class UserService {
             user.addAuthority(new Authority(usernameUppercase, authority));
 
             userRepository.save(user);
+            markChanged(usernameUppercase);
 
             userDto = userToDto(user);
         } else {
@@ -170,6 +218,7 @@ public class UserService {
         return userDto;
     }
 
+    @Transactional
     public String removeAuthorityFromUser(String username, String authority) {
         String usernameUppercase = username.toUpperCase();
 
@@ -204,357 +253,389 @@ public class UserService {
         } else {
             user.removeAuthority(toRemove);
             userRepository.save(user);
+            markChanged(usernameUppercase);
+
+            // Access tokens still carry the removed authority, a refresh issues a token without it
+            tokenRevocationService.revokeUser(usernameUppercase);
 
             return "Authority " + authority.toUpperCase() + " is removed from user: " + usernameUppercase;
         }
     }
 
     // Relation - Single Movie/Series Methods
-    public UserDto assignIdToSpecificUserList(String username, Long id, String list, boolean isMovie) {
-        if (list == null || list.isEmpty()) {
-            throw new IllegalArgumentException("Lijstnaam mag niet null of leeg zijn");
+    @Transactional
+    public UserDto assignIdToSpecificUserList(String username, Long id, UserList list) {
+        String usernameUppercase = username.toUpperCase();
+
+        User user = findUserForUpdate(usernameUppercase);
+
+        // Adding an id that is already present is a no-op, so clients can safely retry
+        if (list.contains(user, id)) {
+            return userToDto(user);
         }
 
+        list.add(user, id);
+        userRepository.save(user);
+        userRepository.adjustCount(usernameUppercase, list, 1);
+        userListChangeService.recordChanges(usernameUppercase, list, List.of(id), ChangeOperation.ADD);
+
+        return userToDto(user);
+    }
+
+    @Transactional
+    public UserDto removeIdFromSpecificUserList(String username, Long id, UserList list) {
         String usernameUppercase = username.toUpperCase();
-        boolean isUpdated = false;
 
-        User user = userRepository.findById(usernameUppercase)
-                .orElseThrow(() -> new UsernameNotFoundException(usernameUppercase));
+        User user = findUserForUpdate(usernameUppercase);
 
-        switch (list) {
-            case "favorites":
-                if (isMovie) {
-                    if (user.getFavoriteMovies().contains(id)) {
-                        throw new BadRequestException("Film: " + id + " is al toegevoegd aan favorieten");
-                    } else {
-                        user.addFavoriteMovie(id);
-                        isUpdated = true;
-                    }
-                } else {
-                    if (user.getFavoriteSeries().contains(id)) {
-                        throw new BadRequestException("Serie: " + id + " is al toegevoegd aan favorieten");
-                    } else {
-                        user.addFavoriteSeries(id);
-                        isUpdated = true;
-                    }
-                }
-                break;
-            case "watchlist":
-                if (isMovie) {
-                    if (user.getWatchlistMovies().contains(id)) {
-                        throw new BadRequestException("Film: " + id + " is al toegevoegd aan watchlist");
-                    } else {
-                        user.addWatchlistMovie(id);
-                        isUpdated = true;
-                    }
-                } else {
-                    if (user.getWatchlistSeries().contains(id)) {
-                        throw new BadRequestException("Serie: " + id + " is al toegevoegd aan watchlist");
-                    } else {
-                        user.addWatchlistSeries(id);
-                        isUpdated = true;
-                    }
-                }
-                break;
-            case "watched":
-                if (isMovie) {
-                    if (user.getWatchedMovies().contains(id)) {
-                        throw new BadRequestException("Film: " + id + " is al toegevoegd aan al gezien");
-                    } else {
-                        user.addWatchedMovie(id);
-                        isUpdated = true;
-                    }
-                } else {
-                    if (user.getWatchedSeries().contains(id)) {
-                        throw new BadRequestException("Serie: " + id + " is al toegevoegd aan al gezien");
-                    } else {
-                        user.addWatchedSeries(id);
-                        isUpdated = true;
-                    }
-                }
-                break;
-            default:
-                throw new IllegalArgumentException("Ongeldige lijstnaam: " + list);
+        if (!list.contains(user, id)) {
+            return userToDto(user);
         }
 
-        if (isUpdated) {
-            userRepository.save(user);
-        }
+        list.remove(user, id);
+        userRepository.save(user);
+        userRepository.adjustCount(usernameUppercase, list, -1);
+        userListChangeService.recordChanges(usernameUppercase, list, List.of(id), ChangeOperation.REMOVE);
 
         return userToDto(user);
     }
 
-    public UserDto removeIdFromSpecificUserList(String username, Long id, String list, boolean isMovie) {
-        if (list == null || list.isEmpty()) {
-            throw new IllegalArgumentException("Lijstnaam mag niet null of leeg zijn");
+    // Relation - Multiple Movie/Series Methods
+    @Transactional
+    public UserDto assignMultipleIdsToSpecificUserList(String username, List<Long> ids, UserList list) {
+        String usernameUppercase = username.toUpperCase();
+
+        User user = findUserForUpdate(usernameUppercase);
+
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        uniqueIds.removeIf(id -> list.contains(user, id));
+
+        if (!uniqueIds.isEmpty()) {
+            for (Long id : uniqueIds) {
+                list.add(user, id);
+            }
+
+            userRepository.save(user);
+            userRepository.adjustCount(usernameUppercase, list, uniqueIds.size());
+            userListChangeService.recordChanges(usernameUppercase, list, uniqueIds, ChangeOperation.ADD);
         }
 
+        return userToDto(user);
+    }
+
+    @Transactional
+    public UserDto removeMultipleIdsFromSpecificUserList(String username, List<Long> ids, UserList list) {
         String usernameUppercase = username.toUpperCase();
-        boolean isUpdated = false;
 
-        User user = userRepository.findById(usernameUppercase)
-                .orElseThrow(() -> new UsernameNotFoundException(usernameUppercase));
+        User user = findUserForUpdate(usernameUppercase);
 
-        switch (list) {
-            case "favorites":
-                if (isMovie) {
-                    if (!user.getFavoriteMovies().contains(id)) {
-                        throw new BadRequestException("Film: " + id + " is niet toegevoegd aan favorieten");
-                    } else {
-                        user.removeFavoriteMovie(id);
-                        isUpdated = true;
-                    }
-                } else {
-                    if (!user.getFavoriteSeries().contains(id)) {
-                        throw new BadRequestException("Serie: " + id + " is niet toegevoegd aan favorieten");
-                    } else {
-                        user.removeFavoriteSeries(id);
-                        isUpdated = true;
-                    }
-                }
-                break;
-            case "watchlist":
-                if (isMovie) {
-                    if (!user.getWatchlistMovies().contains(id)) {
-                        throw new BadRequestException("Film: " + id + " is niet toegevoegd aan watchlist");
-                    } else {
-                        user.removeWatchlistMovie(id);
-                        isUpdated = true;
-                    }
-                } else {
-                    if (!user.getWatchlistSeries().contains(id)) {
-                        throw new BadRequestException("Serie: " + id + " is niet toegevoegd aan watchlist");
-                    } else {
-                        user.removeWatchlistSeries(id);
-                        isUpdated = true;
-                    }
-                }
-                break;
-            case "watched":
-                if (isMovie) {
-                    if (!user.getWatchedMovies().contains(id)) {
-                        throw new BadRequestException("Film: " + id + " is niet toegevoegd aan al gezien");
-                    } else {
-                        user.removeWatchedMovie(id);
-                        isUpdated = true;
-                    }
-                } else {
-                    if (!user.getWatchedSeries().contains(id)) {
-                        throw new BadRequestException("Serie: " + id + " is niet toegevoegd aan al gezien");
-                    } else {
-                        user.removeWatchedSeries(id);
-                        isUpdated = true;
-                    }
-                }
-                break;
-            default:
-                throw new IllegalArgumentException("Ongeldige lijstnaam: " + list);
-        }
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        uniqueIds.removeIf(id -> !list.contains(user, id));
+
+        if (!uniqueIds.isEmpty()) {
+            for (Long id : uniqueIds) {
+                list.remove(user, id);
+            }
 
-        if (isUpdated) {
             userRepository.save(user);
+            userRepository.adjustCount(usernameUppercase, list, -uniqueIds.size());
+            userListChangeService.recordChanges(usernameUppercase, list, uniqueIds, ChangeOperation.REMOVE);
         }
 
         return userToDto(user);
     }
 
-    // Relation - Multiple Movie/Series Methods
-    public UserDto assignMultipleIdsToSpecificUserList(String username, List<Long> ids, String list, boolean isMovie) {
-        if (list == null || list.isEmpty()) {
-            throw new IllegalArgumentException("Lijstnaam mag niet null of leeg zijn");
+    // Relation - Move Methods
+    @Transactional
+    public UserDto moveIdsBetweenUserLists(String username, List<Long> ids, UserList from, UserList to) {
+        if (from == to) {
+            throw new BadRequestException("Bron- en doellijst moeten verschillend zijn");
         }
 
         String usernameUppercase = username.toUpperCase();
 
-        User user = userRepository.findById(usernameUppercase)
-                .orElseThrow(() -> new UsernameNotFoundException(usernameUppercase));
+        User user = findUserForUpdate(usernameUppercase);
 
-        boolean isUpdated = false;
-        List<Long> newIds = new ArrayList<>();
-
-        switch (list) {
-            case "favorites":
-                if (isMovie) {
-                    for (Long id : ids) {
-                        if (user.getFavoriteMovies().contains(id)) {
-                            throw new BadRequestException("Film: " + id + " is al toegevoegd aan favorieten");
-                        } else {
-                            newIds.add(id);
-                        }
-                    }
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        uniqueIds.remove(null);
 
-                    if (!newIds.isEmpty()) {
-                        user.getFavoriteMovies().addAll(newIds);
-                        isUpdated = true;
-                    }
-                } else {
-                    for (Long id : ids) {
-                        if (user.getFavoriteSeries().contains(id)) {
-                            throw new BadRequestException("Serie: " + id + " is al toegevoegd aan favorieten");
-                        } else {
-                            newIds.add(id);
-                        }
-                    }
+        Map<Long, Integer> states = userRepository.findListStates(usernameUppercase, uniqueIds);
+        List<Long> removedIds = new ArrayList<>();
+        List<Long> addedIds = new ArrayList<>();
 
-                    if (!newIds.isEmpty()) {
-                        user.getFavoriteSeries().addAll(newIds);
-                        isUpdated = true;
-                    }
-                }
-                break;
-            case "watchlist":
-                if (isMovie) {
-                    for (Long id : ids) {
-                        if (user.getWatchlistMovies().contains(id)) {
-                            throw new BadRequestException("Film: " + id + " is al toegevoegd aan watchlist");
-                        } else {
-                            newIds.add(id);
-                        }
-                    }
+        // Ids that aren't on the source list are skipped, so a move never adds anything it didn't remove
+        for (Long id : uniqueIds) {
+            int state = states.getOrDefault(id, 0);
 
-                    if (!newIds.isEmpty()) {
-                        user.getWatchlistMovies().addAll(newIds);
-                        isUpdated = true;
-                    }
-                } else {
-                    for (Long id : ids) {
-                        if (user.getWatchlistSeries().contains(id)) {
-                            throw new BadRequestException("Serie: " + id + " is al toegevoegd aan watchlist");
-                        } else {
-                            newIds.add(id);
-                        }
-                    }
+            if ((state & from.getBit()) == 0) {
+                continue;
+            }
 
-                    if (!newIds.isEmpty()) {
-                        user.getWatchlistSeries().addAll(newIds);
-                        isUpdated = true;
-                    }
-                }
-                break;
-            case "watched":
-                if (isMovie) {
-                    for (Long id : ids) {
-                        if (user.getWatchedMovies().contains(id)) {
-                            throw new BadRequestException("Film: " + id + " is al toegevoegd aan al gezien");
-                        } else {
-                            newIds.add(id);
-                        }
-                    }
+            removedIds.add(id);
 
-                    if (!newIds.isEmpty()) {
-                        user.getWatchedMovies().addAll(newIds);
-                        isUpdated = true;
-                    }
-                } else {
-                    for (Long id : ids) {
-                        if (user.getWatchedSeries().contains(id)) {
-                            throw new BadRequestException("Serie: " + id + " is al toegevoegd aan al gezien");
-                        } else {
-                            newIds.add(id);
-                        }
-                    }
+            if ((state & to.getBit()) == 0) {
+                addedIds.add(id);
+            }
+        }
+
+        int removed = userRepository.deleteIds(usernameUppercase, from, removedIds);
+        int added = userRepository.insertIds(usernameUppercase, to, addedIds);
+
+        userRepository.adjustCount(usernameUppercase, from, -removed);
+        userRepository.adjustCount(usernameUppercase, to, added);
+
+        userListChangeService.recordChanges(usernameUppercase, from, removedIds, ChangeOperation.REMOVE);
+        userListChangeService.recordChanges(usernameUppercase, to, addedIds, ChangeOperation.ADD);
+
+        return userToDto(user);
+    }
+
+    // Relation - Batch Methods
+    // Operations are applied in order to the loaded user; the row changes are flushed in JDBC batches on commit
+    @Transactional
+    public BatchResultDto applyBatch(String username, List<BatchOperationInputDto> operations) {
+        String usernameUppercase = username.toUpperCase();
+
+        User user = findUserForUpdate(usernameUppercase);
+
+        List<BatchOperationResultDto> results = new ArrayList<>();
+        List<UserListChange> changes = new ArrayList<>();
+
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperationInputDto operation = operations.get(i);
+            UserList list = UserList.of(operation.getMediaType(), operation.getListType());
+            Long id = operation.getId();
 
-                    if (!newIds.isEmpty()) {
-                        user.getWatchedSeries().addAll(newIds);
-                        isUpdated = true;
+            boolean changed = switch (operation.getOp()) {
+                case ADD -> addToList(user, list, id, changes);
+                case REMOVE -> removeFromList(user, list, id, changes);
+                case MOVE -> {
+                    if (operation.getTo() == null || operation.getTo() == operation.getListType()) {
+                        throw new BadRequestException("Operatie " + i + ": bron- en doellijst moeten verschillend zijn");
                     }
+
+                    UserList to = UserList.of(operation.getMediaType(), operation.getTo());
+                    boolean removed = removeFromList(user, list, id, changes);
+                    boolean added = addToList(user, to, id, changes);
+
+                    yield removed || added;
                 }
-                break;
-            default:
-                throw new IllegalArgumentException("Ongeldige lijstnaam: " + list);
+            };
+
+            BatchOperationResultDto resultDto = new BatchOperationResultDto();
+            resultDto.setIndex(i);
+            resultDto.setOp(operation.getOp());
+            resultDto.setId(id);
+            resultDto.setChanged(changed);
+            results.add(resultDto);
         }
 
-        if (isUpdated) {
+        if (!changes.isEmpty()) {
+            Map<UserList, Long> deltas = new EnumMap<>(UserList.class);
+
+            for (UserListChange change : changes) {
+                deltas.merge(change.getList(), change.getOperation() == ChangeOperation.ADD ? 1L : -1L, Long::sum);
+            }
+
             userRepository.save(user);
+            deltas.forEach((list, delta) -> userRepository.adjustCount(usernameUppercase, list, delta));
+            userListChangeService.recordChanges(usernameUppercase, changes);
         }
 
-        return userToDto(user);
+        BatchResultDto batchResultDto = new BatchResultDto();
+        batchResultDto.setResults(results);
+        batchResultDto.setUser(userToDto(user));
+
+        return batchResultDto;
+    }
+
+    private boolean addToList(User user, UserList list, Long id, List<UserListChange> changes) {
+        if (list.contains(user, id)) {
+            return false;
+        }
+
+        list.add(user, id);
+        changes.add(new UserListChange(user.getUsername(), list, id, ChangeOperation.ADD, null));
+
+        return true;
     }
 
-    public UserDto removeMultipleIdsFromSpecificUserList(String username, List<Long> ids, String list, boolean isMovie) {
-        if (list == null || list.isEmpty()) {
-            throw new IllegalArgumentException("Lijstnaam mag niet null of leeg zijn");
+    private boolean removeFromList(User user, UserList list, Long id, List<UserListChange> changes) {
+        if (!list.contains(user, id)) {
+            return false;
+        }
+
+        list.remove(user, id);
+        changes.add(new UserListChange(user.getUsername(), list, id, ChangeOperation.REMOVE, null));
+
+        return true;
+    }
+
+    // Relation - Ordered List Methods
+    @Transactional(readOnly = true)
+    public List<ListItemDto> getUserListItems(String username, UserList list, ListSort sort, int page, int size) {
+        if (page < 0 || size < 1 || size > 100) {
+            throw new BadRequestException("Pagina moet 0 of hoger zijn en paginagrootte tussen 1 en 100");
+        }
+
+        List<ListItem> listItems = userRepository.findItems(username.toUpperCase(), list, sort, page * size, size);
+        List<ListItemDto> listItemDtos = new ArrayList<>();
+
+        for (ListItem listItem : listItems) {
+            listItemDtos.add(toListItemDto(listItem));
         }
 
+        return listItemDtos;
+    }
+
+    @Transactional
+    public ListItemDto moveIdWithinUserList(String username, Long id, Long afterId, UserList list) {
         String usernameUppercase = username.toUpperCase();
 
-        User user = userRepository.findById(usernameUppercase)
+        userRepository.lockUser(usernameUppercase)
                 .orElseThrow(() -> new UsernameNotFoundException(usernameUppercase));
+        markChanged(usernameUppercase);
 
-        boolean isUpdated = false;
-
-        switch (list) {
-            case "favorites":
-                if (isMovie) {
-                    for (Long id : ids) {
-                        if (!user.getFavoriteMovies().contains(id)) {
-                            throw new BadRequestException("Film: " + id + " is niet toegevoegd aan favorieten");
-                        } else {
-                            user.removeFavoriteMovie(id);
-                            isUpdated = true;
-                        }
-                    }
-                } else {
-                    for (Long id : ids) {
-                        if (!user.getFavoriteSeries().contains(id)) {
-                            throw new BadRequestException("Serie: " + id + " is niet toegevoegd aan favorieten");
-                        } else {
-                            user.removeFavoriteSeries(id);
-                            isUpdated = true;
-                        }
-                    }
-                }
-                break;
-            case "watchlist":
-                if (isMovie) {
-                    for (Long id : ids) {
-                        if (!user.getWatchlistMovies().contains(id)) {
-                            throw new BadRequestException("Film: " + id + " is niet toegevoegd aan watchlist");
-                        } else {
-                            user.removeWatchlistMovie(id);
-                            isUpdated = true;
-                        }
-                    }
-                } else {
-                    for (Long id : ids) {
-                        if (!user.getWatchlistSeries().contains(id)) {
-                            throw new BadRequestException("Serie: " + id + " is niet toegevoegd aan watchlist");
-                        } else {
-                            user.removeWatchlistSeries(id);
-                            isUpdated = true;
-                        }
-                    }
+        ListItem listItem = userRepository.findItem(usernameUppercase, list, id);
+
+        if (listItem == null) {
+            throw new BadRequestException(ErrorCode.LIST_ITEM_NOT_ADDED, list.notAddedMessage(id));
+        } else if (id.equals(afterId)) {
+            throw new BadRequestException(list.getMediaType().getLabel() + ": " + id + " kan niet na zichzelf geplaatst worden");
+        }
+
+        Long position = findPositionAfter(usernameUppercase, list, id, afterId);
+
+        if (position == null) {
+            renumberUserList(usernameUppercase, list);
+            position = findPositionAfter(usernameUppercase, list, id, afterId);
+        }
+
+        userRepository.updatePosition(usernameUppercase, list, id, position);
+        userListChangeService.recordReorder(usernameUppercase, list, id, position);
+        listItem.setPosition(position);
+
+        return toListItemDto(listItem);
+    }
+
+    // Free position right after afterId (or at the top when null), or null when the gap is used up
+    private Long findPositionAfter(String username, UserList list, Long id, Long afterId) {
+        Long previous = null;
+
+        if (afterId != null) {
+            ListItem previousItem = userRepository.findItem(username, list, afterId);
+
+            if (previousItem == null) {
+                throw new BadRequestException(ErrorCode.LIST_ITEM_NOT_ADDED, list.notAddedMessage(afterId));
+            }
+
+            previous = previousItem.getPosition();
+        }
+
+        Long next = userRepository.findFirstPositionAfter(username, list, previous, id);
+
+        if (previous == null && next == null) {
+            return ListItem.POSITION_GAP;
+        } else if (previous == null) {
+            return next - ListItem.POSITION_GAP;
+        } else if (next == null) {
+            return previous + ListItem.POSITION_GAP;
+        } else if (next - previous < 2) {
+            return null;
+        } else {
+            return previous + (next - previous) / 2;
+        }
+    }
+
+    private void renumberUserList(String username, UserList list) {
+        List<Long> ids = userRepository.findIdsByPosition(username, list);
+
+        for (int i = 0; i < ids.size(); i++) {
+            userRepository.updatePosition(username, list, ids.get(i), (i + 1) * ListItem.POSITION_GAP);
+        }
+    }
+
+    // List mutations of a user take the user row lock before they record changes and keep it until commit,
+    // so the change feed sequences of one user become visible in order and a client can't skip past one
+    private User findUserForUpdate(String usernameUppercase) {
+        userRepository.lockUser(usernameUppercase)
+                .orElseThrow(() -> new UsernameNotFoundException(usernameUppercase));
+        markChanged(usernameUppercase);
+
+        return userRepository.findById(usernameUppercase)
+                .orElseThrow(() -> new UsernameNotFoundException(usernameUppercase));
+    }
+
+    // Loads that started before the commit may have read the old state, so getUser stops sharing them afterwards
+    private void markChanged(String usernameUppercase) {
+        int stripe = versionStripe(usernameUppercase);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    userVersions.incrementAndGet(stripe);
                 }
-                break;
-            case "watched":
-                if (isMovie) {
-                    for (Long id : ids) {
-                        if (!user.getWatchedMovies().contains(id)) {
-                            throw new BadRequestException("Film: " + id + " is niet toegevoegd aan al gezien");
-                        } else {
-                            user.removeWatchedMovie(id);
-                            isUpdated = true;
-                        }
-                    }
-                } else {
-                    for (Long id : ids) {
-                        if (!user.getWatchedSeries().contains(id)) {
-                            throw new BadRequestException("Serie: " + id + " is niet toegevoegd aan al gezien");
-                        } else {
-                            user.removeWatchedSeries(id);
-                            isUpdated = true;
-                        }
-                    }
+            });
+        } else {
+            userVersions.incrementAndGet(stripe);
+        }
+    }
+
+    private static int versionStripe(String usernameUppercase) {
+        return (usernameUppercase.hashCode() & Integer.MAX_VALUE) % USER_VERSION_STRIPES;
+    }
+
+    // Relation - List Counter Methods
+    // Read from the counter rows, so none of the lists has to be loaded
+    @Transactional(readOnly = true)
+    public Map<String, Long> getListCounts(String username) {
+        String usernameUppercase = username.toUpperCase();
+
+        Map<UserList, Long> foundCounts = userRepository.findCounts(usernameUppercase);
+
+        if (foundCounts.isEmpty() && !userRepository.existsById(usernameUppercase)) {
+            throw new UsernameNotFoundException(usernameUppercase);
+        }
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+
+        for (UserList list : UserList.values()) {
+            counts.put(list.getAttributeName(), foundCounts.getOrDefault(list, 0L));
+        }
+
+        return counts;
+    }
+
+    // One short transaction per user that takes the same user lock as the list writes, so a write can't commit
+    // between counting a list and storing that count
+    @Scheduled(fixedDelayString = "${counters.reconcile-interval:PT6H}")
+    public void reconcileListCounts() {
+        for (String username : userRepository.findAllUsernames()) {
+            transaction.executeWithoutResult(status -> {
+                if (userRepository.lockUser(username).isPresent()) {
+                    userRepository.reconcileCounts(username);
                 }
-                break;
-            default:
-                throw new IllegalArgumentException("Ongeldige lijstnaam: " + list);
+            });
         }
+    }
 
-        if (isUpdated) {
-            userRepository.save(user);
+    // Relation - List State Methods
+    // Bit n of a state is set when the id is on the UserList with ordinal n
+    @Transactional(readOnly = true)
+    public Map<Long, Integer> getListStates(String username, List<Long> ids) {
+        Map<Long, Integer> states = new LinkedHashMap<>();
+
+        if (ids.isEmpty()) {
+            return states;
         }
 
-        return userToDto(user);
+        Map<Long, Integer> foundStates = userRepository.findListStates(username.toUpperCase(), ids);
+
+        for (Long id : ids) {
+            states.put(id, foundStates.getOrDefault(id, 0));
+        }
+
+        return states;
     }
 }
@@ -0,0 +1,119 @@
+package nl.dodo_en_kuik.backend.services;
+
+// Imports
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nl.dodo_en_kuik.backend.dtos.input.UserInputDto;
+import nl.dodo_en_kuik.backend.dtos.output.UserDto;
+import nl.dodo_en_kuik.backend.enums.UserList;
+import nl.dodo_en_kuik.backend.utils.JwtUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Runs the hot paths before the application reports ready, so the first real requests don't pay for a cold JIT and cold caches
+@Service
+public class WarmupService implements ApplicationRunner {
+    private static final Logger LOGGER = LoggerFactory.getLogger(WarmupService.class);
+    private static final Long WARMUP_ID = 1L;
+
+    private final UserService userService;
+    private final JwtUtil jwtUtil;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int iterations;
+    private final Duration maxDuration;
+
+    private volatile boolean completed;
+
+    public WarmupService(
+            UserService userService,
+            JwtUtil jwtUtil,
+            ObjectMapper objectMapper,
+            @Value("${warmup.enabled:true}") boolean enabled,
+            @Value("${warmup.iterations:500}") int iterations,
+            @Value("${warmup.max-duration:PT30S}") Duration maxDuration
+    ) {
+        this.userService = userService;
+        this.jwtUtil = jwtUtil;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.iterations = iterations;
+        this.maxDuration = maxDuration;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            completed = true;
+            return;
+        }
+
+        String username = "WARMUP" + randomLetters(12);
+
+        try {
+            warmup(username);
+        } catch (RuntimeException | JsonProcessingException exception) {
+            // A failed warm-up only costs latency, it should not keep the application out of service
+            LOGGER.warn("Warm-up stopped early: {}", exception.getMessage());
+        } finally {
+            try {
+                userService.deleteUser(username);
+            } catch (RuntimeException ignored) {
+                // The user was never created
+            }
+
+            completed = true;
+        }
+    }
+
+    private void warmup(String username) throws JsonProcessingException {
+        UserInputDto inputDto = new UserInputDto();
+        inputDto.setUsername(username);
+        inputDto.setEmail(username.toLowerCase() + "@warmup.invalid");
+        inputDto.setPassword(randomLetters(16));
+        userService.createUser(inputDto);
+
+        UserDetails userDetails = User.withUsername(username).password("").authorities("ROLE_USER").build();
+        long deadline = System.nanoTime() + maxDuration.toNanos();
+        long started = System.nanoTime();
+        int iteration = 0;
+
+        while (iteration < iterations && System.nanoTime() < deadline) {
+            String token = jwtUtil.generateToken(userDetails);
+            jwtUtil.toUserDetails(jwtUtil.parseToken(token));
+
+            UserList list = UserList.values()[iteration % UserList.values().length];
+            userService.assignIdToSpecificUserList(username, WARMUP_ID, list);
+            userService.removeIdFromSpecificUserList(username, WARMUP_ID, list);
+
+            UserDto userDto = userService.getUser(username);
+            objectMapper.writeValueAsString(userDto);
+
+            iteration++;
+        }
+
+        LOGGER.info("Warm-up finished {} iterations in {} ms", iteration, Duration.ofNanos(System.nanoTime() - started).toMillis());
+    }
+
+    private static String randomLetters(int length) {
+        StringBuilder sb = new StringBuilder(length);
+
+        for (int i = 0; i < length; i++) {
+            sb.append((char) ('A' + ThreadLocalRandom.current().nextInt(26)));
+        }
+
+        return sb.toString();
+    }
+}
@@ -2,47 +2,64 @@ package nl.dodo_en_kuik.backend.utils;
 
 // Imports
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import nl.dodo_en_kuik.backend.security.jwt.JwtKeyRing;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import java.security.Key;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.UUID;
 
 @Service
 public class JwtUtil {
-    private final static String SECRET_KEY = "AJJFHZZNVIWEUIHTJHHJTKEOEJTIKKKEWLFGJKIRJDFKKEKKEKDSKE";
-
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    private final JwtKeyRing keyRing;
+    private final JwtParser parser;
+    private final Duration accessTokenTtl;
+
+    public JwtUtil(
+            JwtKeyRing keyRing,
+            @Value("${jwt.access-token-ttl:PT15M}") Duration accessTokenTtl
+    ) {
+        this.keyRing = keyRing;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return keyRing.getVerificationKey(header.getKeyId());
+                    }
+                })
+                .build();
+        this.accessTokenTtl = accessTokenTtl;
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    // The signature and expiration are checked by the parser
+    public Claims parseToken(String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
 
-    private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
+    public UserDetails toUserDetails(Claims claims) {
+        List<GrantedAuthority> grantedAuthorities = new ArrayList<>();
+        String authorities = claims.get("authorities", String.class);
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser().setSigningKey(SECRET_KEY).parseClaimsJws(token).getBody();
-    }
+        if (authorities != null && !authorities.isBlank()) {
+            for (String authority : authorities.split(", ")) {
+                grantedAuthorities.add(new SimpleGrantedAuthority(authority));
+            }
+        }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return new User(claims.getSubject(), "", grantedAuthorities);
     }
 
     public String generateToken(UserDetails userDetails) {
@@ -69,18 +86,17 @@ public class JwtUtil {
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
+        long now = System.currentTimeMillis();
+        JwtKeyRing.SigningKey signingKey = keyRing.getSigningKey();
+
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, signingKey.getId())
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(subject)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 24 * 3)) // 3 Days
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + accessTokenTtl.toMillis()))
+                .signWith(signingKey.getKey(), signingKey.getAlgorithm())
                 .compact();
     }
-
-    public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-
-        return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
-    }
 }
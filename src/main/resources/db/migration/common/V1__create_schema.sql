@@ -0,0 +1,133 @@
+-- Users
+CREATE TABLE users (
+    username                  VARCHAR(255) NOT NULL,
+    password                  VARCHAR(255) NOT NULL,
+    email                     VARCHAR(255) NOT NULL,
+    changes_compacted_through BIGINT,
+    CONSTRAINT users_pk PRIMARY KEY (username),
+    CONSTRAINT users_email_uk UNIQUE (email)
+);
+
+-- Authorities
+CREATE TABLE authorities (
+    username  VARCHAR(255) NOT NULL,
+    authority VARCHAR(255) NOT NULL,
+    CONSTRAINT authorities_pk PRIMARY KEY (username, authority),
+    CONSTRAINT authorities_users_fk FOREIGN KEY (username) REFERENCES users (username)
+);
+
+-- Lists: one row per id, ordered by a sparse position
+CREATE TABLE user_favorite_movies (
+    username      VARCHAR(255)                NOT NULL,
+    movie_id      BIGINT                      NOT NULL,
+    added_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    list_position BIGINT                      NOT NULL,
+    CONSTRAINT user_favorite_movies_pk PRIMARY KEY (username, movie_id),
+    CONSTRAINT user_favorite_movies_users_fk FOREIGN KEY (username) REFERENCES users (username)
+);
+
+CREATE INDEX user_favorite_movies_position_idx ON user_favorite_movies (username, list_position);
+CREATE INDEX user_favorite_movies_added_at_idx ON user_favorite_movies (username, added_at);
+
+CREATE TABLE user_watchlist_movies (
+    username      VARCHAR(255)                NOT NULL,
+    movie_id      BIGINT                      NOT NULL,
+    added_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    list_position BIGINT                      NOT NULL,
+    CONSTRAINT user_watchlist_movies_pk PRIMARY KEY (username, movie_id),
+    CONSTRAINT user_watchlist_movies_users_fk FOREIGN KEY (username) REFERENCES users (username)
+);
+
+CREATE INDEX user_watchlist_movies_position_idx ON user_watchlist_movies (username, list_position);
+CREATE INDEX user_watchlist_movies_added_at_idx ON user_watchlist_movies (username, added_at);
+
+CREATE TABLE user_watched_movies (
+    username      VARCHAR(255)                NOT NULL,
+    movie_id      BIGINT                      NOT NULL,
+    added_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    list_position BIGINT                      NOT NULL,
+    CONSTRAINT user_watched_movies_pk PRIMARY KEY (username, movie_id),
+    CONSTRAINT user_watched_movies_users_fk FOREIGN KEY (username) REFERENCES users (username)
+);
+
+CREATE INDEX user_watched_movies_position_idx ON user_watched_movies (username, list_position);
+CREATE INDEX user_watched_movies_added_at_idx ON user_watched_movies (username, added_at);
+
+CREATE TABLE user_favorite_series (
+    username      VARCHAR(255)                NOT NULL,
+    series_id     BIGINT                      NOT NULL,
+    added_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    list_position BIGINT                      NOT NULL,
+    CONSTRAINT user_favorite_series_pk PRIMARY KEY (username, series_id),
+    CONSTRAINT user_favorite_series_users_fk FOREIGN KEY (username) REFERENCES users (username)
+);
+
+CREATE INDEX user_favorite_series_position_idx ON user_favorite_series (username, list_position);
+CREATE INDEX user_favorite_series_added_at_idx ON user_favorite_series (username, added_at);
+
+CREATE TABLE user_watchlist_series (
+    username      VARCHAR(255)                NOT NULL,
+    series_id     BIGINT                      NOT NULL,
+    added_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    list_position BIGINT                      NOT NULL,
+    CONSTRAINT user_watchlist_series_pk PRIMARY KEY (username, series_id),
+    CONSTRAINT user_watchlist_series_users_fk FOREIGN KEY (username) REFERENCES users (username)
+);
+
+CREATE INDEX user_watchlist_series_position_idx ON user_watchlist_series (username, list_position);
+CREATE INDEX user_watchlist_series_added_at_idx ON user_watchlist_series (username, added_at);
+
+CREATE TABLE user_watched_series (
+    username      VARCHAR(255)                NOT NULL,
+    series_id     BIGINT                      NOT NULL,
+    added_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    list_position BIGINT                      NOT NULL,
+    CONSTRAINT user_watched_series_pk PRIMARY KEY (username, series_id),
+    CONSTRAINT user_watched_series_users_fk FOREIGN KEY (username) REFERENCES users (username)
+);
+
+CREATE INDEX user_watched_series_position_idx ON user_watched_series (username, list_position);
+CREATE INDEX user_watched_series_added_at_idx ON user_watched_series (username, added_at);
+
+-- Change feed
+CREATE TABLE user_list_changes (
+    seq           BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    username      VARCHAR(255)                NOT NULL,
+    list_name     VARCHAR(255)                NOT NULL,
+    media_id      BIGINT                      NOT NULL,
+    operation     VARCHAR(255)                NOT NULL,
+    list_position BIGINT,
+    changed_at    TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT user_list_changes_pk PRIMARY KEY (seq),
+    CONSTRAINT user_list_changes_list_name_ck CHECK (list_name IN (
+        'FAVORITE_MOVIES', 'WATCHLIST_MOVIES', 'WATCHED_MOVIES', 'FAVORITE_SERIES', 'WATCHLIST_SERIES', 'WATCHED_SERIES'
+    )),
+    CONSTRAINT user_list_changes_operation_ck CHECK (operation IN ('ADD', 'REMOVE', 'REORDER'))
+);
+
+CREATE INDEX user_list_changes_username_seq_idx ON user_list_changes (username, seq);
+CREATE INDEX user_list_changes_changed_at_idx ON user_list_changes (changed_at);
+
+-- Tokens
+CREATE TABLE refresh_tokens (
+    token_hash VARCHAR(255)                NOT NULL,
+    username   VARCHAR(255)                NOT NULL,
+    family_id  VARCHAR(255)                NOT NULL,
+    issued_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    expires_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    used_at    TIMESTAMP(6) WITH TIME ZONE,
+    CONSTRAINT refresh_tokens_pk PRIMARY KEY (token_hash)
+);
+
+CREATE INDEX refresh_tokens_username_idx ON refresh_tokens (username);
+CREATE INDEX refresh_tokens_family_id_idx ON refresh_tokens (family_id);
+CREATE INDEX refresh_tokens_expires_at_idx ON refresh_tokens (expires_at);
+
+CREATE TABLE revoked_tokens (
+    token_id   VARCHAR(255)                NOT NULL,
+    revoked_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    expires_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT revoked_tokens_pk PRIMARY KEY (token_id)
+);
+
+CREATE INDEX revoked_tokens_expires_at_idx ON revoked_tokens (expires_at);
@@ -0,0 +1,36 @@
+-- List counters: number of ids per user and list, kept in step with every add and remove
+CREATE TABLE user_list_counters (
+    username   VARCHAR(255) NOT NULL,
+    list_name  VARCHAR(255) NOT NULL,
+    item_count BIGINT       NOT NULL,
+    CONSTRAINT user_list_counters_pk PRIMARY KEY (username, list_name),
+    CONSTRAINT user_list_counters_users_fk FOREIGN KEY (username) REFERENCES users (username),
+    CONSTRAINT user_list_counters_list_name_ck CHECK (list_name IN (
+        'FAVORITE_MOVIES', 'WATCHLIST_MOVIES', 'WATCHED_MOVIES', 'FAVORITE_SERIES', 'WATCHLIST_SERIES', 'WATCHED_SERIES'
+    ))
+);
+
+-- Existing users start from their current list sizes
+INSERT INTO user_list_counters (username, list_name, item_count)
+SELECT u.username, 'FAVORITE_MOVIES', (SELECT COUNT(*) FROM user_favorite_movies t WHERE t.username = u.username)
+FROM users u;
+
+INSERT INTO user_list_counters (username, list_name, item_count)
+SELECT u.username, 'WATCHLIST_MOVIES', (SELECT COUNT(*) FROM user_watchlist_movies t WHERE t.username = u.username)
+FROM users u;
+
+INSERT INTO user_list_counters (username, list_name, item_count)
+SELECT u.username, 'WATCHED_MOVIES', (SELECT COUNT(*) FROM user_watched_movies t WHERE t.username = u.username)
+FROM users u;
+
+INSERT INTO user_list_counters (username, list_name, item_count)
+SELECT u.username, 'FAVORITE_SERIES', (SELECT COUNT(*) FROM user_favorite_series t WHERE t.username = u.username)
+FROM users u;
+
+INSERT INTO user_list_counters (username, list_name, item_count)
+SELECT u.username, 'WATCHLIST_SERIES', (SELECT COUNT(*) FROM user_watchlist_series t WHERE t.username = u.username)
+FROM users u;
+
+INSERT INTO user_list_counters (username, list_name, item_count)
+SELECT u.username, 'WATCHED_SERIES', (SELECT COUNT(*) FROM user_watched_series t WHERE t.username = u.username)
+FROM users u;
@@ -0,0 +1,43 @@
+-- Title stats: number of users that have an id on a list, across all users
+CREATE TABLE title_stats (
+    list_name  VARCHAR(255) NOT NULL,
+    media_id   BIGINT       NOT NULL,
+    item_count BIGINT       NOT NULL,
+    CONSTRAINT title_stats_pk PRIMARY KEY (list_name, media_id),
+    CONSTRAINT title_stats_list_name_ck CHECK (list_name IN (
+        'FAVORITE_MOVIES', 'WATCHLIST_MOVIES', 'WATCHED_MOVIES', 'FAVORITE_SERIES', 'WATCHLIST_SERIES', 'WATCHED_SERIES'
+    ))
+);
+
+CREATE INDEX title_stats_list_count_idx ON title_stats (list_name, item_count DESC, media_id);
+
+-- Existing lists are counted once, afterwards the application adds the deltas
+INSERT INTO title_stats (list_name, media_id, item_count)
+SELECT 'FAVORITE_MOVIES', movie_id, COUNT(*)
+FROM user_favorite_movies
+GROUP BY movie_id;
+
+INSERT INTO title_stats (list_name, media_id, item_count)
+SELECT 'WATCHLIST_MOVIES', movie_id, COUNT(*)
+FROM user_watchlist_movies
+GROUP BY movie_id;
+
+INSERT INTO title_stats (list_name, media_id, item_count)
+SELECT 'WATCHED_MOVIES', movie_id, COUNT(*)
+FROM user_watched_movies
+GROUP BY movie_id;
+
+INSERT INTO title_stats (list_name, media_id, item_count)
+SELECT 'FAVORITE_SERIES', series_id, COUNT(*)
+FROM user_favorite_series
+GROUP BY series_id;
+
+INSERT INTO title_stats (list_name, media_id, item_count)
+SELECT 'WATCHLIST_SERIES', series_id, COUNT(*)
+FROM user_watchlist_series
+GROUP BY series_id;
+
+INSERT INTO title_stats (list_name, media_id, item_count)
+SELECT 'WATCHED_SERIES', series_id, COUNT(*)
+FROM user_watched_series
+GROUP BY series_id;
@@ -0,0 +1,3 @@
+-- existsByUsernameIgnoreCase and existsByEmailIgnoreCase compare upper(column) = upper(?)
+CREATE INDEX users_username_upper_idx ON users (UPPER(username));
+CREATE INDEX users_email_upper_idx ON users (UPPER(email));
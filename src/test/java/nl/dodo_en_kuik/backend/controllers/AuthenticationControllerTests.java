@@ -0,0 +1,120 @@
+package nl.dodo_en_kuik.backend.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nl.dodo_en_kuik.backend.models.RefreshToken;
+import nl.dodo_en_kuik.backend.repositories.RefreshTokenRepository;
+import nl.dodo_en_kuik.backend.services.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+import static nl.dodo_en_kuik.backend.helpers.TestHelper.PASSWORD;
+import static nl.dodo_en_kuik.backend.helpers.TestHelper.createUser;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+// The refresh calls would otherwise share the authentication bucket of one address
+@SpringBootTest(properties = "rate-limit.enabled=false")
+@AutoConfigureMockMvc
+class AuthenticationControllerTests {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Test
+    void refreshRotatesTheRefreshToken() throws Exception {
+        JsonNode login = authenticate("refreshrotate");
+
+        MockHttpServletResponse response = refresh(login.get("refreshToken").asText());
+        JsonNode rotated = objectMapper.readTree(response.getContentAsString());
+
+        assertEquals(200, response.getStatus());
+        assertFalse(rotated.get("jwt").asText().isEmpty());
+        assertNotEquals(login.get("refreshToken").asText(), rotated.get("refreshToken").asText());
+        assertEquals(200, refresh(rotated.get("refreshToken").asText()).getStatus());
+    }
+
+    @Test
+    void replayedRefreshTokenRevokesTheWholeFamily() throws Exception {
+        JsonNode login = authenticate("refreshreplay");
+        String firstToken = login.get("refreshToken").asText();
+        String rotatedToken = objectMapper.readTree(refresh(firstToken).getContentAsString()).get("refreshToken").asText();
+
+        MockHttpServletResponse replay = refresh(firstToken);
+
+        assertEquals(400, replay.getStatus());
+        assertEquals("REFRESH_TOKEN_REUSED", objectMapper.readTree(replay.getContentAsString()).get("code").asText());
+        assertEquals(400, refresh(rotatedToken).getStatus());
+    }
+
+    @Test
+    void unknownRefreshTokenIsRejected() throws Exception {
+        MockHttpServletResponse response = refresh("unknown-refresh-token");
+
+        assertEquals(400, response.getStatus());
+        assertEquals("INVALID_REFRESH_TOKEN", objectMapper.readTree(response.getContentAsString()).get("code").asText());
+    }
+
+    @Test
+    void expiredRefreshTokenIsRejected() throws Exception {
+        createUser(userService, "refreshexpired");
+
+        String expiredToken = "expired-refresh-token";
+        Instant issuedAt = Instant.now().minus(Duration.ofDays(15));
+        refreshTokenRepository.save(new RefreshToken(
+                hash(expiredToken), "REFRESHEXPIRED", "expired-family", issuedAt, issuedAt.plus(Duration.ofDays(14))
+        ));
+
+        MockHttpServletResponse response = refresh(expiredToken);
+
+        assertEquals(400, response.getStatus());
+        assertEquals("INVALID_REFRESH_TOKEN", objectMapper.readTree(response.getContentAsString()).get("code").asText());
+        assertTrue(refreshTokenRepository.findById(hash(expiredToken)).isEmpty());
+    }
+
+    private JsonNode authenticate(String username) throws Exception {
+        createUser(userService, username);
+
+        MockHttpServletResponse response = mockMvc.perform(post("/users/authenticate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"" + username + "\",\"password\":\"" + PASSWORD + "\"}")
+        ).andReturn().getResponse();
+
+        assertEquals(200, response.getStatus());
+
+        return objectMapper.readTree(response.getContentAsString());
+    }
+
+    private MockHttpServletResponse refresh(String refreshToken) throws Exception {
+        return mockMvc.perform(post("/users/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"refreshToken\":\"" + refreshToken + "\"}")
+        ).andReturn().getResponse();
+    }
+
+    // Same digest as RefreshTokenService stores
+    private static String hash(String refreshToken) throws Exception {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(refreshToken.getBytes(StandardCharsets.UTF_8));
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    }
+}
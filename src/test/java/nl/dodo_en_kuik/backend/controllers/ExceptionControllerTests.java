@@ -0,0 +1,62 @@
+package nl.dodo_en_kuik.backend.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nl.dodo_en_kuik.backend.services.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static nl.dodo_en_kuik.backend.helpers.TestHelper.createUser;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+// Same setting as production, where Boot registers its own problem detail handler next to ExceptionController
+@SpringBootTest(properties = "spring.mvc.problemdetails.enabled=true")
+@AutoConfigureMockMvc
+class ExceptionControllerTests {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void invalidBodyIsReportedAsValidationFailed() throws Exception {
+        createUser(userService, "problemvalidation");
+
+        MockHttpServletResponse response = mockMvc.perform(post("/users/auth/problemvalidation/list-state")
+                .with(user("PROBLEMVALIDATION").roles("USER"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[5,null]}")
+        ).andReturn().getResponse();
+        JsonNode problem = objectMapper.readTree(response.getContentAsString());
+
+        assertEquals(400, response.getStatus());
+        assertEquals("VALIDATION_FAILED", problem.get("code").asText());
+        assertTrue(problem.get("detail").asText().contains("ids[1]"));
+    }
+
+    @Test
+    void invalidPathVariableIsReportedAsInvalidParameter() throws Exception {
+        createUser(userService, "problemparameter");
+
+        MockHttpServletResponse response = mockMvc.perform(get("/users/auth/problemparameter/books/watched")
+                .with(user("PROBLEMPARAMETER").roles("USER"))
+        ).andReturn().getResponse();
+        JsonNode problem = objectMapper.readTree(response.getContentAsString());
+
+        assertEquals(400, response.getStatus());
+        assertEquals("INVALID_PARAMETER", problem.get("code").asText());
+        assertEquals("Ongeldig mediatype: books", problem.get("detail").asText());
+    }
+}
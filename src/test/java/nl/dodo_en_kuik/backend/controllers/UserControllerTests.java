@@ -0,0 +1,197 @@
+package nl.dodo_en_kuik.backend.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nl.dodo_en_kuik.backend.dtos.output.ListItemDto;
+import nl.dodo_en_kuik.backend.dtos.output.UserDto;
+import nl.dodo_en_kuik.backend.enums.ChangeOperation;
+import nl.dodo_en_kuik.backend.enums.ListSort;
+import nl.dodo_en_kuik.backend.enums.UserList;
+import nl.dodo_en_kuik.backend.models.ListItem;
+import nl.dodo_en_kuik.backend.services.UserListChangeService;
+import nl.dodo_en_kuik.backend.services.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static nl.dodo_en_kuik.backend.helpers.TestHelper.createUser;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest(properties = "rate-limit.enabled=false")
+@AutoConfigureMockMvc
+class UserControllerTests {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserService userService;
+
+    @SpyBean
+    private UserListChangeService userListChangeService;
+
+    @Test
+    void pagesByAddedReturnEveryIdOnceNewestFirst() throws Exception {
+        createUser(userService, "pagingadded");
+        // One request, so all ids share the same added_at
+        userService.assignMultipleIdsToSpecificUserList("pagingadded", List.of(1L, 2L, 3L, 4L, 5L, 6L), UserList.WATCHLIST_MOVIES);
+
+        assertEquals(List.of(6L, 5L, 4L, 3L, 2L, 1L), allPages("pagingadded", "watchlist", "added"));
+    }
+
+    @Test
+    void pagesByAddedAfterAMoveReturnEveryIdOnce() throws Exception {
+        createUser(userService, "pagingmoved");
+        userService.assignMultipleIdsToSpecificUserList("pagingmoved", List.of(1L, 2L, 3L, 4L, 5L, 6L), UserList.WATCHLIST_MOVIES);
+        userService.moveIdsBetweenUserLists(
+                "pagingmoved", List.of(1L, 2L, 3L, 4L, 5L, 6L), UserList.WATCHLIST_MOVIES, UserList.WATCHED_MOVIES
+        );
+
+        assertEquals(List.of(6L, 5L, 4L, 3L, 2L, 1L), allPages("pagingmoved", "watched", "added"));
+    }
+
+    @Test
+    void pagesByPositionReturnEveryIdOnceInListOrder() throws Exception {
+        createUser(userService, "pagingposition");
+        userService.assignMultipleIdsToSpecificUserList("pagingposition", List.of(1L, 2L, 3L, 4L, 5L, 6L), UserList.WATCHLIST_MOVIES);
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L), allPages("pagingposition", "watchlist", "position"));
+    }
+
+    @Test
+    void reorderMovesAnIdToTheTopOrAfterAnotherId() throws Exception {
+        createUser(userService, "reorder");
+        userService.assignMultipleIdsToSpecificUserList("reorder", List.of(1L, 2L, 3L, 4L), UserList.WATCHLIST_MOVIES);
+
+        assertEquals(200, reorder("reorder", 3L, null).getStatus());
+        assertEquals(List.of(3L, 1L, 2L, 4L), allPages("reorder", "watchlist", "position"));
+
+        assertEquals(200, reorder("reorder", 1L, 4L).getStatus());
+        assertEquals(List.of(3L, 2L, 4L, 1L), allPages("reorder", "watchlist", "position"));
+
+        assertEquals(200, reorder("reorder", 4L, 3L).getStatus());
+        assertEquals(List.of(3L, 4L, 2L, 1L), allPages("reorder", "watchlist", "position"));
+    }
+
+    @Test
+    void reorderRenumbersTheListWhenTheGapRunsOut() {
+        createUser(userService, "renumber");
+        userService.assignMultipleIdsToSpecificUserList("renumber", List.of(1L, 2L, 3L), UserList.WATCHLIST_MOVIES);
+        boolean renumbered = false;
+
+        // Every move lands halfway between 1 and the next id, so the gap halves until there is no room left
+        for (int i = 0; i < 25; i++) {
+            long moved = i % 2 == 0 ? 3L : 2L;
+            long other = moved == 3L ? 2L : 3L;
+
+            userService.moveIdWithinUserList("renumber", moved, 1L, UserList.WATCHLIST_MOVIES);
+            List<ListItemDto> items = userService.getUserListItems("renumber", UserList.WATCHLIST_MOVIES, ListSort.POSITION, 0, 10);
+
+            assertEquals(List.of(1L, moved, other), items.stream().map(ListItemDto::getId).toList());
+
+            // Only a renumber puts the id that stayed in place back on a multiple of the gap
+            if (i > 0 && items.get(2).getPosition() % ListItem.POSITION_GAP == 0) {
+                renumbered = true;
+            }
+        }
+
+        assertTrue(renumbered);
+    }
+
+    @Test
+    void moveOnlyAddsIdsThatWereOnTheSourceList() throws Exception {
+        createUser(userService, "movemissing");
+        userService.assignMultipleIdsToSpecificUserList("movemissing", List.of(1L, 2L), UserList.WATCHLIST_MOVIES);
+        userService.assignIdToSpecificUserList("movemissing", 2L, UserList.WATCHED_MOVIES);
+
+        MockHttpServletResponse response = move("movemissing", List.of(1L, 2L, 3L), "watchlist", "watched");
+
+        assertEquals(200, response.getStatus());
+        UserDto user = objectMapper.readValue(response.getContentAsString(), UserDto.class);
+        assertEquals(Set.of(), user.getWatchlistMovies());
+        assertEquals(Set.of(1L, 2L), user.getWatchedMovies());
+
+        Map<String, Long> counts = userService.getListCounts("movemissing");
+        assertEquals(0L, counts.get(UserList.WATCHLIST_MOVIES.getAttributeName()));
+        assertEquals(2L, counts.get(UserList.WATCHED_MOVIES.getAttributeName()));
+    }
+
+    @Test
+    void moveIsRolledBackWhenItFailsHalfway() throws Exception {
+        createUser(userService, "moveatomic");
+        userService.assignMultipleIdsToSpecificUserList("moveatomic", List.of(1L, 2L), UserList.WATCHLIST_MOVIES);
+
+        // The ids are already deleted from the source and inserted in the target when this throws
+        doThrow(new IllegalStateException("move failed")).when(userListChangeService)
+                .recordChanges(eq("MOVEATOMIC"), eq(UserList.WATCHED_MOVIES), anyCollection(), eq(ChangeOperation.ADD));
+
+        assertThrows(Exception.class, () -> move("moveatomic", List.of(1L, 2L), "watchlist", "watched"));
+
+        UserDto user = userService.getUser("moveatomic");
+        assertEquals(Set.of(1L, 2L), user.getWatchlistMovies());
+        assertEquals(Set.of(), user.getWatchedMovies());
+
+        Map<String, Long> counts = userService.getListCounts("moveatomic");
+        assertEquals(2L, counts.get(UserList.WATCHLIST_MOVIES.getAttributeName()));
+        assertEquals(0L, counts.get(UserList.WATCHED_MOVIES.getAttributeName()));
+    }
+
+    private List<Long> allPages(String username, String listType, String sort) throws Exception {
+        List<Long> ids = new ArrayList<>();
+
+        for (int page = 0; page < 10; page++) {
+            MockHttpServletResponse response = mockMvc.perform(get("/users/auth/" + username + "/movies/" + listType)
+                    .param("sort", sort)
+                    .param("page", String.valueOf(page))
+                    .param("size", "2")
+                    .with(user(username.toUpperCase()).roles("USER"))
+            ).andReturn().getResponse();
+
+            assertEquals(200, response.getStatus());
+            JsonNode items = objectMapper.readTree(response.getContentAsString());
+
+            if (items.isEmpty()) {
+                break;
+            }
+
+            items.forEach(item -> ids.add(item.get("id").asLong()));
+        }
+
+        return ids;
+    }
+
+    private MockHttpServletResponse reorder(String username, Long id, Long afterId) throws Exception {
+        return mockMvc.perform(patch("/users/auth/" + username + "/movies/watchlist/" + id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"afterId\":" + afterId + "}")
+                .with(user(username.toUpperCase()).roles("USER"))
+        ).andReturn().getResponse();
+    }
+
+    private MockHttpServletResponse move(String username, List<Long> ids, String from, String to) throws Exception {
+        return mockMvc.perform(post("/users/auth/" + username + "/movies/move")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("ids", ids, "from", from, "to", to)))
+                .with(user(username.toUpperCase()).roles("USER"))
+        ).andReturn().getResponse();
+    }
+}
@@ -0,0 +1,43 @@
+package nl.dodo_en_kuik.backend.helpers;
+
+import nl.dodo_en_kuik.backend.dtos.input.UserInputDto;
+import nl.dodo_en_kuik.backend.services.UserService;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+// Shared setup for the tests; the tests share one in-memory database, so every test uses its own usernames
+public class TestHelper {
+    public static final String PASSWORD = "Passw0rd!";
+
+    public static void createUser(UserService userService, String username) {
+        UserInputDto userInputDto = new UserInputDto();
+        userInputDto.setUsername(username);
+        userInputDto.setPassword(PASSWORD);
+        userInputDto.setEmail(username + "@example.com");
+
+        userService.createUser(userInputDto);
+    }
+
+    // Waits until the thread is parked, e.g. on a lock, a latch or a future, instead of guessing with a sleep
+    public static void awaitWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (System.nanoTime() < deadline) {
+            if (isWaiting(thread)) {
+                return;
+            }
+
+            Thread.sleep(10);
+        }
+
+        fail("Thread " + thread.getName() + " was not waiting");
+    }
+
+    public static boolean isWaiting(Thread thread) {
+        Thread.State state = thread.getState();
+
+        return state == Thread.State.WAITING || state == Thread.State.TIMED_WAITING || state == Thread.State.BLOCKED;
+    }
+}
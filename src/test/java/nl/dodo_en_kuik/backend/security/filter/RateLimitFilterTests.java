@@ -0,0 +1,96 @@
+package nl.dodo_en_kuik.backend.security.filter;
+
+import nl.dodo_en_kuik.backend.services.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static nl.dodo_en_kuik.backend.helpers.TestHelper.createUser;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+@SpringBootTest(properties = "rate-limit.mutation.capacity=3")
+@AutoConfigureMockMvc
+class RateLimitFilterTests {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void requestsWithoutTokenDoNotDrainTheBucketOfTheUserInThePath() throws Exception {
+        createUser(userService, "ratelimitvictim");
+
+        // Every request comes from another address, so only a per-user bucket could stop them
+        for (int i = 0; i < 10; i++) {
+            int status = perform(addToWatchlist("ratelimitvictim", "10.0.0." + i)).getStatus();
+            assertNotEquals(429, status);
+        }
+
+        for (int i = 0; i < 3; i++) {
+            int status = perform(addToWatchlist("ratelimitvictim", "10.0.1." + i).with(user("RATELIMITVICTIM").roles("USER"))).getStatus();
+            assertEquals(200, status);
+        }
+    }
+
+    @Test
+    void authenticatedUserIsLimitedAcrossAddresses() throws Exception {
+        createUser(userService, "ratelimitclient");
+
+        for (int i = 0; i < 3; i++) {
+            int status = perform(addToWatchlist("ratelimitclient", "10.0.2." + i).with(user("RATELIMITCLIENT").roles("USER"))).getStatus();
+            assertEquals(200, status);
+        }
+
+        var response = perform(addToWatchlist("ratelimitclient", "10.0.2.9").with(user("RATELIMITCLIENT").roles("USER")));
+
+        assertEquals(429, response.getStatus());
+        assertNotNull(response.getHeader("Retry-After"));
+    }
+
+    @Test
+    void readOnlyListStateRequestsAreNotCharged() throws Exception {
+        createUser(userService, "ratelimitreader");
+
+        for (int i = 0; i < 10; i++) {
+            int status = perform(listState("ratelimitreader", "10.0.3.1").with(user("RATELIMITREADER").roles("USER"))).getStatus();
+            assertEquals(200, status);
+        }
+
+        for (int i = 0; i < 3; i++) {
+            int status = perform(addToWatchlist("ratelimitreader", "10.0.3.1").with(user("RATELIMITREADER").roles("USER"))).getStatus();
+            assertEquals(200, status);
+        }
+    }
+
+    private MockHttpServletRequestBuilder addToWatchlist(String username, String remoteAddress) {
+        return fromAddress(put("/users/auth/" + username + "/movies/watchlist"), remoteAddress)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"id\":1}");
+    }
+
+    private MockHttpServletRequestBuilder listState(String username, String remoteAddress) {
+        return fromAddress(post("/users/auth/" + username + "/list-state"), remoteAddress)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[1]}");
+    }
+
+    private static MockHttpServletRequestBuilder fromAddress(MockHttpServletRequestBuilder request, String remoteAddress) {
+        return request.with(mockRequest -> {
+            mockRequest.setRemoteAddr(remoteAddress);
+            return mockRequest;
+        });
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request).andReturn().getResponse();
+    }
+}
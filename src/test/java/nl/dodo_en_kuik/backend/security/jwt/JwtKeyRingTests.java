@@ -0,0 +1,71 @@
+package nl.dodo_en_kuik.backend.security.jwt;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtKeyRingTests {
+    private static final String FIRST_SECRET = Base64.getEncoder().encodeToString("first-test-secret-of-at-least-32-bytes".getBytes());
+    private static final String SECOND_SECRET = Base64.getEncoder().encodeToString("second-test-secret-of-at-least-32-bytes".getBytes());
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void startupFailsWithoutSigningKeys() {
+        JwtSigningProperties properties = new JwtSigningProperties();
+
+        assertThrows(IllegalStateException.class, () -> new JwtKeyRing(properties));
+    }
+
+    @Test
+    void reloadSwapsInRotatedKeysFromTheKeysFile() throws Exception {
+        Path keysFile = directory.resolve("jwt-keys.properties");
+        Files.writeString(keysFile, keys("first", "first=" + FIRST_SECRET));
+
+        JwtSigningProperties properties = new JwtSigningProperties();
+        properties.setKeysFile(keysFile.toString());
+        JwtKeyRing keyRing = new JwtKeyRing(properties);
+
+        assertEquals("first", keyRing.getSigningKey().getId());
+
+        Files.writeString(keysFile, keys("second", "first=" + FIRST_SECRET, "second=" + SECOND_SECRET));
+        keyRing.reload();
+
+        assertEquals("second", keyRing.getSigningKey().getId());
+        assertNotNull(keyRing.getVerificationKey("first"));
+    }
+
+    @Test
+    void brokenKeysFileKeepsTheCurrentKeys() throws Exception {
+        Path keysFile = directory.resolve("jwt-keys.properties");
+        Files.writeString(keysFile, keys("first", "first=" + FIRST_SECRET));
+
+        JwtSigningProperties properties = new JwtSigningProperties();
+        properties.setKeysFile(keysFile.toString());
+        JwtKeyRing keyRing = new JwtKeyRing(properties);
+
+        Files.writeString(keysFile, keys("missing", "first=" + FIRST_SECRET));
+        keyRing.reload();
+
+        assertEquals("first", keyRing.getSigningKey().getId());
+    }
+
+    // Each key is given as id=secret
+    private static String keys(String activeKeyId, String... keys) {
+        StringBuilder sb = new StringBuilder("jwt.signing.active-key-id=" + activeKeyId + "\n");
+
+        for (int i = 0; i < keys.length; i++) {
+            String[] key = keys[i].split("=", 2);
+            sb.append("jwt.signing.keys[").append(i).append("].id=").append(key[0]).append("\n");
+            sb.append("jwt.signing.keys[").append(i).append("].secret=").append(key[1]).append("\n");
+        }
+
+        return sb.toString();
+    }
+}
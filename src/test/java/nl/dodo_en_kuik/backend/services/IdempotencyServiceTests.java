@@ -0,0 +1,55 @@
+package nl.dodo_en_kuik.backend.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import static nl.dodo_en_kuik.backend.helpers.TestHelper.awaitWaiting;
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyServiceTests {
+    private final IdempotencyService idempotencyService = new IdempotencyService(Duration.ofHours(1), 100);
+
+    @Test
+    void errorInTheActionReleasesWaitersAndForgetsTheKey() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch fail = new CountDownLatch(1);
+
+        CompletableFuture<Object> owner = CompletableFuture.supplyAsync(() -> idempotencyService.execute("scope", "key", "body", () -> {
+            started.countDown();
+            await(fail);
+            throw new StackOverflowError();
+        }));
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        FutureTask<Object> waiter = new FutureTask<>(
+                () -> idempotencyService.execute("scope", "key", "body", () -> "second")
+        );
+        Thread waiterThread = new Thread(waiter);
+        waiterThread.start();
+
+        // The retry has to be waiting for the first attempt before that attempt fails
+        awaitWaiting(waiterThread);
+        fail.countDown();
+
+        Exception ownerFailure = assertThrows(Exception.class, () -> owner.get(5, TimeUnit.SECONDS));
+        Exception waiterFailure = assertThrows(Exception.class, () -> waiter.get(5, TimeUnit.SECONDS));
+
+        assertInstanceOf(StackOverflowError.class, ownerFailure.getCause());
+        assertInstanceOf(StackOverflowError.class, waiterFailure.getCause());
+        assertEquals("retry", idempotencyService.execute("scope", "key", "body", () -> "retry"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
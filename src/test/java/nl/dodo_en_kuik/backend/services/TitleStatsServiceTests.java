@@ -0,0 +1,56 @@
+package nl.dodo_en_kuik.backend.services;
+
+import nl.dodo_en_kuik.backend.dtos.output.TitleCountDto;
+import nl.dodo_en_kuik.backend.enums.UserList;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static nl.dodo_en_kuik.backend.helpers.TestHelper.createUser;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class TitleStatsServiceTests {
+    private static final Long MEDIA_ID = 950_001L;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TitleStatsService titleStatsService;
+
+    @Test
+    void flushWritesCountsAndDropsCountersThatReachZero() {
+        createUser(userService, "statsfirst");
+        createUser(userService, "statssecond");
+
+        userService.assignIdToSpecificUserList("statsfirst", MEDIA_ID, UserList.FAVORITE_MOVIES);
+        userService.assignIdToSpecificUserList("statssecond", MEDIA_ID, UserList.FAVORITE_MOVIES);
+        titleStatsService.flushCounts();
+
+        assertEquals(2L, count(UserList.FAVORITE_MOVIES));
+        assertFalse(pending(UserList.FAVORITE_MOVIES).containsKey(MEDIA_ID));
+
+        userService.removeIdFromSpecificUserList("statsfirst", MEDIA_ID, UserList.FAVORITE_MOVIES);
+        titleStatsService.flushCounts();
+
+        assertEquals(1L, count(UserList.FAVORITE_MOVIES));
+        assertFalse(pending(UserList.FAVORITE_MOVIES).containsKey(MEDIA_ID));
+    }
+
+    private Long count(UserList list) {
+        return titleStatsService.getTop(list, 1000).stream()
+                .filter(titleCountDto -> titleCountDto.getId().equals(MEDIA_ID))
+                .map(TitleCountDto::getCount)
+                .findFirst()
+                .orElse(0L);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, ?> pending(UserList list) {
+        return ((Map<UserList, Map<Long, ?>>) ReflectionTestUtils.getField(titleStatsService, "pending")).get(list);
+    }
+}
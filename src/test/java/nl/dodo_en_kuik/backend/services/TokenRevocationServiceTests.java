@@ -0,0 +1,65 @@
+package nl.dodo_en_kuik.backend.services;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class TokenRevocationServiceTests {
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void revokeUserRejectsOlderTokensButNotTokensIssuedInTheRevocationSecond() {
+        Instant before = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        tokenRevocationService.revokeUser("revokeduser");
+        Instant after = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+        assertTrue(tokenRevocationService.isRevoked(claims("REVOKEDUSER", null, before.minusSeconds(1))));
+        assertFalse(tokenRevocationService.isRevoked(claims("REVOKEDUSER", null, after)));
+        assertFalse(tokenRevocationService.isRevoked(claims("OTHERUSER", null, before.minusSeconds(1))));
+    }
+
+    @Test
+    void revokedTokenIdIsOnlyPublishedAfterCommit() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Claims rolledBack = claims("REVOKEDTOKEN", UUID.randomUUID().toString(), Instant.now());
+        Claims committed = claims("REVOKEDTOKEN", UUID.randomUUID().toString(), Instant.now());
+
+        transaction.executeWithoutResult(status -> {
+            tokenRevocationService.revokeToken(rolledBack);
+            assertFalse(tokenRevocationService.isRevoked(rolledBack));
+            status.setRollbackOnly();
+        });
+
+        transaction.executeWithoutResult(status -> tokenRevocationService.revokeToken(committed));
+
+        assertFalse(tokenRevocationService.isRevoked(rolledBack));
+        assertTrue(tokenRevocationService.isRevoked(committed));
+    }
+
+    private static Claims claims(String subject, String tokenId, Instant issuedAt) {
+        Claims claims = Jwts.claims();
+        claims.setSubject(subject);
+        claims.setId(tokenId);
+        claims.setIssuedAt(Date.from(issuedAt));
+        claims.setExpiration(Date.from(issuedAt.plus(Duration.ofMinutes(15))));
+
+        return claims;
+    }
+}
@@ -0,0 +1,78 @@
+package nl.dodo_en_kuik.backend.services;
+
+import nl.dodo_en_kuik.backend.dtos.output.ChangeFeedDto;
+import nl.dodo_en_kuik.backend.dtos.output.ListChangeDto;
+import nl.dodo_en_kuik.backend.dtos.output.UserDto;
+import nl.dodo_en_kuik.backend.enums.UserList;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import static nl.dodo_en_kuik.backend.helpers.TestHelper.awaitWaiting;
+import static nl.dodo_en_kuik.backend.helpers.TestHelper.createUser;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class UserListChangeServiceTests {
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserListChangeService userListChangeService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void concurrentMutationsOfOneUserCommitInSequenceOrder() throws Exception {
+        createUser(userService, "feedorder");
+
+        CountDownLatch firstRecorded = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> transaction.executeWithoutResult(status -> {
+            userService.assignIdToSpecificUserList("feedorder", 1L, UserList.WATCHLIST_MOVIES);
+            firstRecorded.countDown();
+
+            try {
+                releaseFirst.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+
+        assertTrue(firstRecorded.await(5, TimeUnit.SECONDS));
+
+        FutureTask<UserDto> second = new FutureTask<>(
+                () -> userService.assignIdToSpecificUserList("feedorder", 2L, UserList.WATCHED_SERIES)
+        );
+        Thread secondThread = new Thread(second);
+        secondThread.start();
+
+        // The second mutation waits for the user lock, so it can't record a change while the first is uncommitted
+        awaitWaiting(secondThread);
+        assertFalse(second.isDone());
+        assertTrue(userListChangeService.getChanges("feedorder", 0, 500).getChanges().isEmpty());
+
+        releaseFirst.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+
+        ChangeFeedDto feed = userListChangeService.getChanges("feedorder", 0, 500);
+        List<ListChangeDto> changes = feed.getChanges();
+
+        assertEquals(2, changes.size());
+        assertEquals(1L, changes.get(0).getId());
+        assertEquals(2L, changes.get(1).getId());
+        assertTrue(changes.get(0).getSequence() < changes.get(1).getSequence());
+    }
+}
@@ -0,0 +1,93 @@
+package nl.dodo_en_kuik.backend.services;
+
+import nl.dodo_en_kuik.backend.enums.UserList;
+import nl.dodo_en_kuik.backend.repositories.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import static nl.dodo_en_kuik.backend.helpers.TestHelper.awaitWaiting;
+import static nl.dodo_en_kuik.backend.helpers.TestHelper.createUser;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class UserServiceListCountTests {
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void countersFollowEveryKindOfMutation() {
+        createUser(userService, "listcounts");
+
+        userService.assignIdToSpecificUserList("listcounts", 1L, UserList.WATCHLIST_MOVIES);
+        userService.assignIdToSpecificUserList("listcounts", 1L, UserList.WATCHLIST_MOVIES);
+        userService.assignMultipleIdsToSpecificUserList("listcounts", List.of(2L, 3L, 4L), UserList.WATCHLIST_MOVIES);
+        userService.removeIdFromSpecificUserList("listcounts", 4L, UserList.WATCHLIST_MOVIES);
+        userService.moveIdsBetweenUserLists("listcounts", List.of(1L, 2L), UserList.WATCHLIST_MOVIES, UserList.WATCHED_MOVIES);
+
+        Map<String, Long> counts = userService.getListCounts("listcounts");
+
+        assertEquals(1L, counts.get(UserList.WATCHLIST_MOVIES.getAttributeName()));
+        assertEquals(2L, counts.get(UserList.WATCHED_MOVIES.getAttributeName()));
+        assertEquals(0L, counts.get(UserList.FAVORITE_SERIES.getAttributeName()));
+
+        // The counters were kept in step, so reconciling with the list tables changes nothing
+        userService.reconcileListCounts();
+
+        assertEquals(counts, userService.getListCounts("listcounts"));
+    }
+
+    @Test
+    void reconcileWaitsForListWritesOfTheUserInProgress() throws Exception {
+        createUser(userService, "reconcilerace");
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        // A drifted counter, so the reconcile has something to repair
+        transaction.executeWithoutResult(status -> userRepository.adjustCount("RECONCILERACE", UserList.WATCHLIST_SERIES, 5));
+
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch releaseWrite = new CountDownLatch(1);
+
+        CompletableFuture<Void> write = CompletableFuture.runAsync(() -> transaction.executeWithoutResult(status -> {
+            userService.assignIdToSpecificUserList("reconcilerace", 1L, UserList.WATCHLIST_SERIES);
+            written.countDown();
+
+            try {
+                releaseWrite.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+
+        assertTrue(written.await(5, TimeUnit.SECONDS));
+
+        FutureTask<Void> reconcile = new FutureTask<>(() -> userService.reconcileListCounts(), null);
+        Thread reconcileThread = new Thread(reconcile);
+        reconcileThread.start();
+
+        // The reconcile must not count the list while the write is uncommitted
+        awaitWaiting(reconcileThread);
+        assertFalse(reconcile.isDone());
+
+        releaseWrite.countDown();
+        write.get(5, TimeUnit.SECONDS);
+        reconcile.get(5, TimeUnit.SECONDS);
+
+        assertEquals(1L, userService.getListCounts("reconcilerace").get(UserList.WATCHLIST_SERIES.getAttributeName()));
+    }
+}
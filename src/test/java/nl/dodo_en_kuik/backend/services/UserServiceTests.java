@@ -0,0 +1,192 @@
+package nl.dodo_en_kuik.backend.services;
+
+import nl.dodo_en_kuik.backend.dtos.output.UserDto;
+import nl.dodo_en_kuik.backend.exceptions.UsernameNotFoundException;
+import nl.dodo_en_kuik.backend.helpers.TestHelper;
+import nl.dodo_en_kuik.backend.models.Authority;
+import nl.dodo_en_kuik.backend.models.User;
+import nl.dodo_en_kuik.backend.repositories.AuthorityRepository;
+import nl.dodo_en_kuik.backend.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static nl.dodo_en_kuik.backend.helpers.TestHelper.awaitWaiting;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserServiceTests {
+    private static final int CONCURRENT_REQUESTS = 16;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private AuthorityRepository authorityRepository;
+
+    @Mock
+    private UserListChangeService userListChangeService;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private TitleStatsService titleStatsService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        userService = new UserService(
+                userRepository,
+                authorityRepository,
+                userListChangeService,
+                refreshTokenService,
+                tokenRevocationService,
+                titleStatsService,
+                transactionManager
+        );
+    }
+
+    @Test
+    void concurrentGetUserSharesOneQuery() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(userRepository.findById("BOB")).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(user("BOB"));
+        });
+
+        List<Thread> threads = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REQUESTS, runnable -> {
+            Thread thread = new Thread(runnable);
+            threads.add(thread);
+            return thread;
+        });
+
+        try {
+            List<Future<UserDto>> results = new ArrayList<>();
+
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                results.add(executor.submit(() -> userService.getUser("bob")));
+            }
+
+            awaitAllWaiting(threads);
+            release.countDown();
+
+            UserDto first = results.get(0).get(5, TimeUnit.SECONDS);
+
+            for (Future<UserDto> result : results) {
+                assertSame(first, result.get(5, TimeUnit.SECONDS));
+            }
+
+            assertEquals("BOB", first.getUsername());
+            verify(userRepository, times(1)).findById("BOB");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void getUserLoadsAgainOnceTheLoadHasFinished() {
+        when(userRepository.findById("BOB")).thenReturn(Optional.of(user("BOB")));
+
+        userService.getUser("bob");
+        userService.getUser("BOB");
+
+        verify(userRepository, times(2)).findById("BOB");
+    }
+
+    @Test
+    void getUserDoesNotRememberFailedLoads() {
+        when(userRepository.findById("BOB"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(user("BOB")));
+
+        assertThrows(UsernameNotFoundException.class, () -> userService.getUser("bob"));
+        assertEquals("BOB", userService.getUser("bob").getUsername());
+    }
+
+    @Test
+    void getUserDoesNotShareALoadThatStartedBeforeAWrite() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        User before = user("BOB");
+        User after = user("BOB");
+        after.setEmail("new@example.com");
+
+        when(authorityRepository.findAuthoritiesByAuthorityContainsIgnoreCase("ROLE_ADMIN"))
+                .thenReturn(Optional.of(new Authority("BOB", "ROLE_ADMIN")));
+        when(userRepository.findById("BOB"))
+                .thenAnswer(invocation -> {
+                    release.await(5, TimeUnit.SECONDS);
+                    return Optional.of(before);
+                })
+                .thenReturn(Optional.of(after));
+
+        List<Thread> threads = new ArrayList<>();
+        ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable);
+            threads.add(thread);
+            return thread;
+        });
+
+        try {
+            Future<UserDto> staleLoad = executor.submit(() -> userService.getUser("bob"));
+            awaitWaiting(threads.get(0));
+
+            userService.assignAuthorityToUser("bob", "ROLE_ADMIN");
+
+            // The read after the write starts its own load instead of waiting for the one that started before it
+            UserDto afterWrite = executor.submit(() -> userService.getUser("bob")).get(5, TimeUnit.SECONDS);
+
+            assertEquals("new@example.com", afterWrite.getEmail());
+
+            release.countDown();
+            assertEquals("bob@example.com", staleLoad.get(5, TimeUnit.SECONDS).getEmail());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private static User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username.toLowerCase() + "@example.com");
+
+        return user;
+    }
+
+    // Every thread is either blocked in the repository or waiting for the shared load
+    private static void awaitAllWaiting(List<Thread> threads) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (System.nanoTime() < deadline) {
+            if (threads.size() == CONCURRENT_REQUESTS && threads.stream().allMatch(TestHelper::isWaiting)) {
+                return;
+            }
+
+            Thread.sleep(10);
+        }
+
+        fail("Not all requests were waiting for the user to load");
+    }
+}